@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Config;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Микробенчмарки чтения свойств {@link Config}: каждое обращение сначала проверяет системные свойства JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+    private final Config config = new Config();
+
+    @Benchmark
+    public String existingProperty() {
+        return config.getProperty("api.users");
+    }
+
+    @Benchmark
+    public String missingProperty() {
+        return config.getProperty("bench.missing");
+    }
+
+    @Benchmark
+    public Config load() {
+        return new Config();
+    }
+}
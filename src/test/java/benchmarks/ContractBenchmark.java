@@ -0,0 +1,74 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Contracts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Микробенчмарки разбора и проверки ответов по {@link Contracts} на типичных телах пользователя,
+ * поста и метки из {@code benchmarks/*.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractBenchmark {
+    private static final Contracts.User USER = new Contracts.User(42, "BenchUser", "Bench description", null);
+    private static final Contracts.Post POST = new Contracts.Post(314, "BenchTitle", "BenchContent", "draft");
+    private static final Contracts.Tag TAG = new Contracts.Tag(27, "BenchTag", "benchtag", "Bench description");
+
+    private byte[] user;
+    private byte[] post;
+    private byte[] tag;
+
+    @Setup
+    public void loadPayloads() throws IOException {
+        user = read("benchmarks/user.json");
+        post = read("benchmarks/post.json");
+        tag = read("benchmarks/tag.json");
+        for (List<String> mismatches : List.of(validateUser(), validatePost(), validateTag())) {
+            if (!mismatches.isEmpty()) {
+                throw new IllegalStateException("Тело для бенчмарка не соответствует контракту: " + mismatches);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> validateUser() {
+        return Contracts.USER.mismatches(user, USER);
+    }
+
+    @Benchmark
+    public List<String> validatePost() {
+        return Contracts.POST.mismatches(post, POST);
+    }
+
+    @Benchmark
+    public List<String> validateTag() {
+        return Contracts.TAG.mismatches(tag, TAG);
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream input = ContractBenchmark.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Не найден ресурс " + resource);
+            }
+            return input.readAllBytes();
+        }
+    }
+}
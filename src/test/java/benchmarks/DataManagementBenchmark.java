@@ -0,0 +1,91 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConnectionPool;
+import utils.DataManagementUtils;
+import utils.TermRow;
+import utils.UserRow;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Микробенчмарки {@link DataManagementUtils} на встроенной базе H2 в режиме MySQL.
+ * <p>
+ * Соединение берется из {@link ConnectionPool}, как в dBtests, поэтому в замер входит
+ * кэш подготовленных выражений. Результат показывает накладные расходы JDBC-слоя без сети
+ * и служит базой для сравнения изменений в нем.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataManagementBenchmark {
+    private static final String URL = "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;"
+            + "INIT=RUNSCRIPT FROM 'classpath:db/wordpress-schema.sql'";
+
+    private ConnectionPool pool;
+    private Connection connection;
+    private DataManagementUtils dataManagementUtils;
+    private int termId;
+    private int userId;
+    private long counter;
+
+    @Setup
+    public void openDatabase() throws SQLException {
+        pool = new ConnectionPool(URL, "sa", "", 1, 1000, 600_000, 2, 64);
+        connection = pool.borrow();
+        dataManagementUtils = new DataManagementUtils(connection);
+        termId = dataManagementUtils.createTermGetId("bench", "bench", 0);
+        userId = dataManagementUtils.createUserGetId("bench", "pass", "bench", "bench@example.com", "",
+                new Date(System.currentTimeMillis()), "", 0, "bench");
+    }
+
+    @TearDown
+    public void closeDatabase() throws SQLException {
+        connection.close();
+        pool.close();
+    }
+
+    @Benchmark
+    public int createTerm() throws SQLException {
+        String name = "term" + counter++;
+        return dataManagementUtils.createTermGetId(name, name, 0);
+    }
+
+    @Benchmark
+    public Optional<TermRow> selectTerm() throws SQLException {
+        return dataManagementUtils.selectTermById(termId);
+    }
+
+    @Benchmark
+    public Optional<UserRow> selectUser() throws SQLException {
+        return dataManagementUtils.selectUserById(userId);
+    }
+
+    @Benchmark
+    public void updateTerm() throws SQLException {
+        dataManagementUtils.updateTermByID(termId, "bench" + (counter++ & 1023));
+    }
+
+    @Benchmark
+    public void updateEntity() throws SQLException {
+        dataManagementUtils.updateEntityByID(userId, "wp_users", "display_name", "bench" + (counter++ & 1023));
+    }
+}
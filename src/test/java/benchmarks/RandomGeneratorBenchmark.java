@@ -0,0 +1,66 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.RandomGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Микробенчмарки генерации тестовых данных {@link RandomGenerator}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomGeneratorBenchmark {
+    private final RandomGenerator generator = new RandomGenerator();
+    private final StringBuilder buffer = new StringBuilder(64);
+    private final StringBuilder content = new StringBuilder(16384);
+
+    @Benchmark
+    public String randomWord() {
+        return generator.generateRandomWord(8);
+    }
+
+    @Benchmark
+    public String namespacedWord() {
+        return generator.generateNamespacedWord(8);
+    }
+
+    @Benchmark
+    public String uniqueWord() {
+        return generator.generateUniqueWord(5);
+    }
+
+    @Benchmark
+    public StringBuilder appendToReusedBuffer() {
+        buffer.setLength(0);
+        return generator.appendRandomWord(buffer, 64);
+    }
+
+    @Benchmark
+    public String randomEmail() {
+        return generator.generateRandomEmail();
+    }
+
+    @Benchmark
+    public String title() {
+        return generator.generateTitle();
+    }
+
+    @Benchmark
+    public StringBuilder postContentToReusedBuffer() {
+        content.setLength(0);
+        return generator.appendPostContent(content);
+    }
+}
@@ -1,42 +1,111 @@
 package dBtests;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import utils.Config;
+import utils.ConnectionPool;
 import utils.DataManagementUtils;
 import utils.RandomGenerator;
+import utils.RowVerifier;
+import utils.RunReport;
+import utils.RunReportExtension;
+import utils.TableSnapshotExtension;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.fail;
 /**
  * Абстрактный базовый класс для тестов, работающих с базой данных.
  */
+@ExtendWith({RunReportExtension.class, TableSnapshotExtension.class})
 public abstract class DBBaseTest {
     protected Connection connection;
 
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/wordpress";
-    private static final String JDBC_USER = "wordpress";
-    private static final String JDBC_PASSWORD = "wordpress";
+    private static volatile ConnectionPool pool;
+
+    private static volatile boolean rollbackIsolationByDefault;
+
+    private static volatile boolean snapshotCleanup;
+
+    /**
+     * true, если тест выполняется в транзакции, которая откатывается после теста.
+     */
+    protected boolean rollbackIsolation;
 
     protected DataManagementUtils dataManagementUtils;
 
+    protected RowVerifier rowVerifier;
+
     protected static RandomGenerator generator;
     /**
-     * Инициализирует генератор случайных данных перед выполнением тестов.
+     * Инициализирует генератор случайных данных и прогревает общий пул соединений перед выполнением тестов.
+     * Безопасен при параллельном запуске классов: пул создается один раз.
+     *
+     * @throws SQLException если не удалось открыть соединения пула
      */
     @BeforeAll
-    public static void setUpBeforeClass() {
-        generator = new RandomGenerator();
+    public static void setUpBeforeClass() throws SQLException {
+        initPool();
     }
 
     /**
-     * Устанавливает соединение с базой данных перед каждым тестом.
+     * Берет соединение из пула перед каждым тестом.
+     * Соединение принадлежит экземпляру теста и используется только его потоком.
+     * В режиме {@link RollbackIsolation} открывает транзакцию теста.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
     @BeforeEach
     void setupDatabaseConnection() throws SQLException {
-        connection = DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
+        connection = pool.borrow();
+        rollbackIsolation = rollbackIsolationByDefault || getClass().isAnnotationPresent(RollbackIsolation.class);
+        if (rollbackIsolation) {
+            connection.setAutoCommit(false);
+        }
         dataManagementUtils = new DataManagementUtils(connection);
+        rowVerifier = new RowVerifier(connection);
+    }
+
+    /**
+     * Определяет, нужно ли тесту удалять созданные строки отдельными запросами.
+     * Не нужно, если строки откатываются транзакцией или таблицы восстанавливаются из снимка.
+     *
+     * @return true, если строки нужно удалить.
+     */
+    protected boolean needsRowCleanup() {
+        return !rollbackIsolation && !snapshotCleanup;
+    }
+
+    /**
+     * Возвращает соединение в пул после каждого теста.
+     * В режиме {@link RollbackIsolation} перед этим откатывает транзакцию теста.
+     */
+    @AfterEach
+    void releaseDatabaseConnection() {
+        if (connection != null) {
+            try {
+                if (rollbackIsolation) {
+                    connection.rollback();
+                }
+                connection.close();
+            } catch (SQLException e) {
+                fail("Ошибка при закрытии подключения к базе данных: " + e.getMessage());
+            }
+        }
+    }
+
+    private static synchronized void initPool() throws SQLException {
+        if (pool == null) {
+            generator = new RandomGenerator();
+            Config config = new Config();
+            pool = ConnectionPool.fromConfig(config);
+            rollbackIsolationByDefault = Boolean.parseBoolean(config.getProperty("db.rollbackIsolation"));
+            snapshotCleanup = Boolean.parseBoolean(config.getProperty("db.snapshot"));
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close));
+            RunReport.attachAtEnd("Метрики пула соединений", () -> pool.metrics().toReport());
+        }
     }
 }
@@ -5,10 +5,23 @@ import io.qameta.allure.SeverityLevel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import utils.DataManagementUtils;
+import utils.PostData;
+import utils.PostRow;
+import utils.TermData;
 
-import java.sql.ResultSet;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 /**
@@ -16,18 +29,22 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DBPostTest extends DBBaseTest {
     private static final String TABLE_NAME = "wp_posts";
+    private static final String ID_COLUMN = "ID";
     private int postId;
+    private int[] batchPostIds = new int[0];
+    private int[] tagTermIds = new int[0];
+    private int[] tagTaxonomyIds = new int[0];
     private final long postAuthor = 1;
     private final Timestamp postDate = new Timestamp(System.currentTimeMillis());
     private final Timestamp postDateGmt = new Timestamp(System.currentTimeMillis());
-    private final String postContent = generator.generateRandomWord(6);
-    private final String postTitle = generator.generateRandomWord(7);
-    private final String postExcerpt = generator.generateRandomWord(9);
+    private final String postContent = generator.generatePostContent();
+    private final String postTitle = generator.generateTitle();
+    private final String postExcerpt = generator.generateExcerpt();
     private final String postStatus = "draft";
     private final String commentStatus = "open";
     private final String pingStatus = "open";
     private final String postPassword = "";
-    private final String postName = generator.generateRandomWord(8);
+    private final String postName = generator.generateSlug(postTitle);
     private final String toPing = "";
     private final String pinged = "";
     private final Timestamp postModified = new Timestamp(System.currentTimeMillis());
@@ -42,7 +59,7 @@ public class DBPostTest extends DBBaseTest {
 
     /**
      * Проверяет создание нового поста в базе данных.
-     * Проверяет, количество строк "До" и "После" создания.
+     * Проверяет, что строка с созданным ID появилась в таблице.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -54,12 +71,10 @@ public class DBPostTest extends DBBaseTest {
         postDateGmt.setNanos(0);
         postModified.setNanos(0);
         postModifiedGmt.setNanos(0);
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
         postId = dataManagementUtils.createPostGetId(postAuthor, postDate, postDateGmt, postContent, postTitle,
                 postExcerpt, postStatus, commentStatus, pingStatus, postPassword, postName, toPing, pinged, postModified,
                 postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType, postMimeType, commentCount);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(1, countAfter - countBefore);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, postId);
     }
 
     /**
@@ -79,15 +94,14 @@ public class DBPostTest extends DBBaseTest {
         String updatedVariable = "publish";
         String variable = "post_status";
         dataManagementUtils.updateEntityByID(postId, TABLE_NAME, variable, updatedVariable);
-        try (ResultSet resultSet = dataManagementUtils.selectEntityFromDBByID(postId, TABLE_NAME)) {
-            assertTrue(resultSet.next(), "Пост не найден после обновления.");
-            assertEquals(updatedVariable, resultSet.getString("post_status"));
-        }
+        Optional<PostRow> post = dataManagementUtils.selectPostById(postId);
+        assertTrue(post.isPresent(), "Пост не найден после обновления.");
+        assertEquals(updatedVariable, post.get().data().postStatus());
     }
 
     /**
      * Проверяет удаление поста из базы данных.
-     * Проверяет, количество строк "До" и "После" удаления.
+     * Проверяет, что строка с ID поста исчезла из таблицы.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -99,10 +113,130 @@ public class DBPostTest extends DBBaseTest {
                 postExcerpt, postStatus, commentStatus, pingStatus, postPassword, postName, toPing, pinged,
                 postModified, postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType,
                 postMimeType, commentCount);
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, postId);
         dataManagementUtils.deleteEntityById(postId, TABLE_NAME);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(-1, countAfter - countBefore);
+        rowVerifier.assertAbsent(TABLE_NAME, ID_COLUMN, postId);
+    }
+
+    /**
+     * Проверяет пакетное создание постов и их потоковое чтение.
+     * Проверяет, что все созданные ID возвращаются потоком в порядке возрастания.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Пакетное создание и потоковое чтение постов")
+    @Severity(SeverityLevel.NORMAL)
+    void testCreatePostsAndStream() throws SQLException {
+        List<PostData> posts = IntStream.range(0, 3)
+                .mapToObj(i -> new PostData(postAuthor, postDate, postDateGmt, postContent, postTitle, postExcerpt,
+                        postStatus, commentStatus, pingStatus, postPassword, postName + i, toPing, pinged,
+                        postModified, postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType,
+                        postMimeType, commentCount))
+                .collect(Collectors.toList());
+        batchPostIds = dataManagementUtils.createPosts(posts);
+        assertEquals(posts.size(), batchPostIds.length);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, batchPostIds);
+
+        List<Integer> createdIds = Arrays.stream(batchPostIds).boxed().collect(Collectors.toList());
+        try (Stream<PostRow> rows = dataManagementUtils.streamPosts(batchPostIds[0] - 1)) {
+            List<Integer> streamedIds = rows.map(PostRow::id)
+                    .filter(createdIds::contains)
+                    .collect(Collectors.toList());
+            assertEquals(createdIds, streamedIds);
+        }
+    }
+
+    /**
+     * Проверяет привязку меток к посту; число меток выбирается по распределению {@code corpus.tagsPerPost}.
+     * Проверяет, что к посту привязано ровно выбранное число меток.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Привязка меток к посту")
+    @Severity(SeverityLevel.NORMAL)
+    void testTagPost() throws SQLException {
+        postId = dataManagementUtils.createPostGetId(postAuthor, postDate, postDateGmt, postContent, postTitle,
+                postExcerpt, postStatus, commentStatus, pingStatus, postPassword, postName, toPing, pinged,
+                postModified, postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType,
+                postMimeType, commentCount);
+        int tagCount = generator.generateTagCount();
+        String tagName = generator.generateNamespacedWord(7);
+        List<TermData> tags = IntStream.range(0, tagCount)
+                .mapToObj(i -> new TermData(tagName + i, tagName.toLowerCase() + i, 0))
+                .collect(Collectors.toList());
+        tagTermIds = dataManagementUtils.createTerms(tags);
+        tagTaxonomyIds = dataManagementUtils.createTagTaxonomies(tagTermIds);
+
+        dataManagementUtils.tagPost(postId, tagTaxonomyIds);
+
+        assertEquals(tagCount, dataManagementUtils.countPostTags(postId));
+    }
+
+    /**
+     * Проверяет, что обновление по неизвестному столбцу отклоняется до отправки SQL.
+     * Проверяет, что имя столбца с фрагментом SQL не попадает в запрос и пост не меняется.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Обновление поста по неизвестному столбцу")
+    @Severity(SeverityLevel.NORMAL)
+    void testUpdateRejectsUnknownColumn() throws SQLException {
+        postId = dataManagementUtils.createPostGetId(postAuthor, postDate, postDateGmt, postContent, postTitle,
+                postExcerpt, postStatus, commentStatus, pingStatus, postPassword, postName, toPing, pinged,
+                postModified, postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType,
+                postMimeType, commentCount);
+        List<String> sentSql = new ArrayList<>();
+        DataManagementUtils recorded = new DataManagementUtils(recordingSql(sentSql));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> recorded.updateEntityByID(postId, TABLE_NAME, "post_status = 'publish', post_title", "x"));
+
+        assertEquals(List.of(), sentSql, "SQL отправлен до проверки столбца.");
+        Optional<PostRow> post = dataManagementUtils.selectPostById(postId);
+        assertTrue(post.isPresent(), "Пост не найден.");
+        assertEquals(postStatus, post.get().data().postStatus());
+        assertEquals(postTitle, post.get().data().postTitle());
+    }
+
+    /**
+     * Проверяет, что удаление из неизвестной таблицы отклоняется до отправки SQL.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Удаление из неизвестной таблицы")
+    @Severity(SeverityLevel.NORMAL)
+    void testDeleteRejectsUnknownTable() throws SQLException {
+        List<String> sentSql = new ArrayList<>();
+        DataManagementUtils recorded = new DataManagementUtils(recordingSql(sentSql));
+
+        assertThrows(IllegalArgumentException.class, () -> recorded.deleteEntityById(1, "wp_posts WHERE 1 = 1 OR ID"));
+
+        assertEquals(List.of(), sentSql, "SQL отправлен до проверки таблицы.");
+    }
+
+    /**
+     * Оборачивает соединение теста и запоминает текст SQL каждого создаваемого выражения.
+     * Чтение метаданных проходит без записи.
+     */
+    private Connection recordingSql(List<String> sentSql) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                        sentSql.add((String) args[0]);
+                    } else if (name.equals("createStatement")) {
+                        sentSql.add("createStatement");
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
     }
 
     /**
@@ -116,25 +250,25 @@ public class DBPostTest extends DBBaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testGetPostWithInvalidId() throws SQLException {
         int nonExistentUserId = 99999;
-        try (ResultSet resultSet = dataManagementUtils.selectEntityFromDBByID(nonExistentUserId, TABLE_NAME)) {
-            assertFalse(resultSet.next(), "Найден пост с несуществующим ID.");
-        }
+        assertFalse(dataManagementUtils.selectPostById(nonExistentUserId).isPresent(), "Найден пост с несуществующим ID.");
     }
 
     /**
-     * Закрывает соединение с базой данных после каждого теста.
      * Удаляет посты, созданные в тестах.
+     * В режиме {@link RollbackIsolation} или при восстановлении таблиц из снимка не требуется.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
     @AfterEach
-    void closeDatabaseConnection() throws SQLException {
-        dataManagementUtils.deleteEntityById(postId, TABLE_NAME);
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                fail("Ошибка при закрытии подключения к базе данных: " + e.getMessage());
+    void deleteCreatedData() throws SQLException {
+        if (needsRowCleanup()) {
+            dataManagementUtils.deleteEntityById(postId, TABLE_NAME);
+            for (int batchPostId : batchPostIds) {
+                dataManagementUtils.deleteEntityById(batchPostId, TABLE_NAME);
+            }
+            dataManagementUtils.deletePostTags(postId, tagTaxonomyIds);
+            for (int tagTermId : tagTermIds) {
+                dataManagementUtils.deleteTagById(tagTermId);
             }
         }
     }
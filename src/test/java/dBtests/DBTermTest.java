@@ -5,9 +5,14 @@ import io.qameta.allure.SeverityLevel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import utils.TermData;
+import utils.TermRow;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 /**
@@ -15,15 +20,18 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DBTermTest extends DBBaseTest {
     private static final String TABLE_NAME = "wp_terms";
+    private static final String ID_COLUMN = "term_id";
+    private static final int BATCH_SIZE = 2;
     private int termId;
+    private int[] batchTermIds = new int[0];
     private final String updatedName = generator.generateRandomWord(6);
-    private final String termName = generator.generateRandomWord(7);
-    private final String termSlug = generator.generateRandomWord(8);
+    private final String termName = generator.generateNamespacedWord(7);
+    private final String termSlug = generator.generateNamespacedWord(8);
     private final long termGroup = 0;
 
     /**
      * Проверяет создание нового тега в базе данных.
-     * Проверяет, количество строк "До" и "После" создания.
+     * Проверяет, что строка с созданным ID появилась в таблице.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -31,10 +39,8 @@ public class DBTermTest extends DBBaseTest {
     @DisplayName("Создание тега")
     @Severity(SeverityLevel.NORMAL)
     void testCreateTerm() throws SQLException {
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
         termId = dataManagementUtils.createTermGetId(termName, termSlug, termGroup);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(1, countAfter - countBefore);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, termId);
     }
 
     /**
@@ -49,15 +55,14 @@ public class DBTermTest extends DBBaseTest {
     void testUpdateTerm() throws SQLException {
         termId = dataManagementUtils.createTermGetId(termName, termSlug, termGroup);
         dataManagementUtils.updateTermByID(termId, updatedName);
-        try (ResultSet resultSet = dataManagementUtils.selectTermFromDBByID(termId)) {
-            assertTrue(resultSet.next(), "Тег не найден после обновления.");
-            assertEquals(updatedName, resultSet.getString("name"));
-        }
+        Optional<TermRow> term = dataManagementUtils.selectTermById(termId);
+        assertTrue(term.isPresent(), "Тег не найден после обновления.");
+        assertEquals(updatedName, term.get().data().termName());
     }
 
     /**
      * Проверяет удаление тега из базы данных.
-     * Проверяет, количество строк "До" и "После" удаления.
+     * Проверяет, что строка с ID тега исчезла из таблицы.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -66,10 +71,34 @@ public class DBTermTest extends DBBaseTest {
     @Severity(SeverityLevel.NORMAL)
     void testDeleteTerm() throws SQLException {
         termId = dataManagementUtils.createTermGetId(termName, termSlug, termGroup);
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, termId);
         dataManagementUtils.deleteTagById(termId);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(-1, countAfter - countBefore);
+        rowVerifier.assertAbsent(TABLE_NAME, ID_COLUMN, termId);
+    }
+
+    /**
+     * Проверяет пакетное создание тегов, которое не помещается в один пакет.
+     * Проверяет, что ID возвращаются в порядке списка и все строки появились в таблице.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Пакетное создание тегов")
+    @Severity(SeverityLevel.NORMAL)
+    void testCreateTerms() throws SQLException {
+        List<TermData> terms = IntStream.range(0, BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> new TermData(termName + i, termSlug + i, termGroup))
+                .collect(Collectors.toList());
+        dataManagementUtils.setBatchSize(BATCH_SIZE);
+        batchTermIds = dataManagementUtils.createTerms(terms);
+
+        assertEquals(terms.size(), batchTermIds.length);
+        assertEquals(terms.size(), rowVerifier.findExistingIds(TABLE_NAME, ID_COLUMN, batchTermIds).size());
+        for (int i = 0; i < terms.size(); i++) {
+            Optional<TermRow> term = dataManagementUtils.selectTermById(batchTermIds[i]);
+            assertTrue(term.isPresent(), "Тег не найден по ID " + batchTermIds[i]);
+            assertEquals(terms.get(i).termSlug(), term.get().data().termSlug(), "ID не соответствует порядку списка.");
+        }
     }
 
     /**
@@ -83,25 +112,21 @@ public class DBTermTest extends DBBaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testGetTermWithInvalidId() throws SQLException {
         int nonExistentTermId = 99999;
-        try (ResultSet resultSet = dataManagementUtils.selectTermFromDBByID(nonExistentTermId)) {
-            assertFalse(resultSet.next(), "Найден тег с несуществующим ID.");
-        }
+        assertFalse(dataManagementUtils.selectTermById(nonExistentTermId).isPresent(), "Найден тег с несуществующим ID.");
     }
 
     /**
-     * Закрывает соединение с базой данных после каждого теста.
      * Удаляет теги, созданные в тестах.
+     * В режиме {@link RollbackIsolation} или при восстановлении таблиц из снимка не требуется.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
     @AfterEach
-    void closeDatabaseConnection() throws SQLException {
-        dataManagementUtils.deleteTagById(termId);
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                fail("Ошибка при закрытии подключения к базе данных: " + e.getMessage());
+    void deleteCreatedData() throws SQLException {
+        if (needsRowCleanup()) {
+            dataManagementUtils.deleteTagById(termId);
+            for (int batchTermId : batchTermIds) {
+                dataManagementUtils.deleteTagById(batchTermId);
             }
         }
     }
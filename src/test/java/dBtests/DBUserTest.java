@@ -5,10 +5,15 @@ import io.qameta.allure.SeverityLevel;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import utils.UserData;
+import utils.UserRow;
 
 import java.sql.Date;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 /**
@@ -16,10 +21,13 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class DBUserTest extends DBBaseTest {
     private static final String TABLE_NAME = "wp_users";
+    private static final String ID_COLUMN = "ID";
+    private static final int BATCH_SIZE = 2;
     private int userId;
-    private final String userLogin = generator.generateRandomWord(10);
+    private int[] batchUserIds = new int[0];
+    private final String userLogin = generator.generateNamespacedWord(10);
     private final String userPass = generator.generateRandomWord(9);
-    private final String userNiceName = generator.generateRandomWord(8);
+    private final String userNiceName = generator.generateNamespacedWord(8);
     private final String userEmail = generator.generateRandomEmail();
     private final String userUrl = "http://example.com";
     private final Date userRegistered = new Date(System.currentTimeMillis());
@@ -29,7 +37,7 @@ public class DBUserTest extends DBBaseTest {
 
     /**
      * Проверяет создание нового пользователя в базе данных.
-     * Проверяет, количество строк "До" и "После" создания.
+     * Проверяет, что строка с созданным ID появилась в таблице.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -37,11 +45,9 @@ public class DBUserTest extends DBBaseTest {
     @DisplayName("Создание пользователя")
     @Severity(SeverityLevel.NORMAL)
     void testCreateUser() throws SQLException {
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
         userId = dataManagementUtils.createUserGetId(userLogin, userPass, userNiceName, userEmail, userUrl,
                 userRegistered, userActivationKey, userStatus, displayName);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(1, countAfter - countBefore);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, userId);
     }
 
     /**
@@ -59,15 +65,14 @@ public class DBUserTest extends DBBaseTest {
         String updatedVariable = "Updated Test User";
         String variable = "user_nicename";
         dataManagementUtils.updateEntityByID(userId, TABLE_NAME, variable, updatedVariable);
-        try (ResultSet resultSet = dataManagementUtils.selectEntityFromDBByID(userId, TABLE_NAME)) {
-            assertTrue(resultSet.next(), "Пользователь не найден после обновления.");
-            assertEquals(updatedVariable, resultSet.getString("user_nicename"));
-        }
+        Optional<UserRow> user = dataManagementUtils.selectUserById(userId);
+        assertTrue(user.isPresent(), "Пользователь не найден после обновления.");
+        assertEquals(updatedVariable, user.get().data().userNiceName());
     }
 
     /**
      * Проверяет удаление пользователя из базы данных.
-     * Проверяет, количество строк "До" и "После" удаления.
+     * Проверяет, что строка с ID пользователя исчезла из таблицы.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
@@ -77,10 +82,35 @@ public class DBUserTest extends DBBaseTest {
     void testDeleteUser() throws SQLException {
         userId = dataManagementUtils.createUserGetId(userLogin, userPass, userNiceName, userEmail, userUrl,
                 userRegistered, userActivationKey, userStatus, displayName);
-        long countBefore = dataManagementUtils.countEntityInDB(TABLE_NAME);
+        rowVerifier.assertExist(TABLE_NAME, ID_COLUMN, userId);
         dataManagementUtils.deleteEntityById(userId, TABLE_NAME);
-        long countAfter = dataManagementUtils.countEntityInDB(TABLE_NAME);
-        assertEquals(-1, countAfter - countBefore);
+        rowVerifier.assertAbsent(TABLE_NAME, ID_COLUMN, userId);
+    }
+
+    /**
+     * Проверяет пакетное создание пользователей, которое не помещается в один пакет.
+     * Проверяет, что ID возвращаются в порядке списка и все строки появились в таблице.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Пакетное создание пользователей")
+    @Severity(SeverityLevel.NORMAL)
+    void testCreateUsers() throws SQLException {
+        List<UserData> users = IntStream.range(0, BATCH_SIZE * 2 + 1)
+                .mapToObj(i -> new UserData(userLogin + i, userPass, userNiceName + i, i + userEmail, userUrl,
+                        userRegistered, userActivationKey, userStatus, displayName))
+                .collect(Collectors.toList());
+        dataManagementUtils.setBatchSize(BATCH_SIZE);
+        batchUserIds = dataManagementUtils.createUsers(users);
+
+        assertEquals(users.size(), batchUserIds.length);
+        assertEquals(users.size(), rowVerifier.findExistingIds(TABLE_NAME, ID_COLUMN, batchUserIds).size());
+        for (int i = 0; i < users.size(); i++) {
+            Optional<UserRow> user = dataManagementUtils.selectUserById(batchUserIds[i]);
+            assertTrue(user.isPresent(), "Пользователь не найден по ID " + batchUserIds[i]);
+            assertEquals(users.get(i).userLogin(), user.get().data().userLogin(), "ID не соответствует порядку списка.");
+        }
     }
 
     /**
@@ -94,25 +124,22 @@ public class DBUserTest extends DBBaseTest {
     @Severity(SeverityLevel.NORMAL)
     public void testGetUserWithInvalidId() throws SQLException {
         int nonExistentUserId = 99999;
-        try (ResultSet resultSet = dataManagementUtils.selectEntityFromDBByID(nonExistentUserId, TABLE_NAME)) {
-            assertFalse(resultSet.next(), "Найден пользователь с несуществующим ID.");
-        }
+        assertFalse(dataManagementUtils.selectUserById(nonExistentUserId).isPresent(),
+                "Найден пользователь с несуществующим ID.");
     }
 
     /**
-     * Закрывает соединение с базой данных после каждого теста.
      * Удаляет пользователей, созданных в тестах.
+     * В режиме {@link RollbackIsolation} или при восстановлении таблиц из снимка не требуется.
      *
      * @throws SQLException если возникает ошибка доступа к базе данных
      */
     @AfterEach
-    void closeDatabaseConnection() throws SQLException {
-        dataManagementUtils.deleteEntityById(userId, TABLE_NAME);
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                fail("Ошибка при закрытии подключения к базе данных: " + e.getMessage());
+    void deleteCreatedData() throws SQLException {
+        if (needsRowCleanup()) {
+            dataManagementUtils.deleteEntityById(userId, TABLE_NAME);
+            for (int batchUserId : batchUserIds) {
+                dataManagementUtils.deleteEntityById(batchUserId, TABLE_NAME);
             }
         }
     }
@@ -0,0 +1,136 @@
+package dBtests;
+
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import utils.Config;
+import utils.PostSeeder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+/**
+ * Тестовый класс для проверки массовой загрузки постов {@link PostSeeder}.
+ * <p>
+ * Небольшая загрузка выполняется в обычном прогоне, в том числе на H2 профиля {@code embedded-db}.
+ * Загрузка объема {@code seed.rows} помечена тегом {@code scale} и запускается профилем
+ * {@code mvn test -Pscale} против MySQL из config.properties.
+ * </p>
+ */
+public class PostSeederTest extends DBBaseTest {
+    private static final String SEED_GUID = "http://example.com/seed-post";
+    private static final int SMOKE_ROWS = 25;
+    private static final int SMOKE_PROGRESS_INTERVAL = 10;
+    private long maxIdBefore;
+
+    /**
+     * Проверяет загрузку небольшого числа постов и сообщения о ходе загрузки.
+     * Проверяет, что в таблице появилось ровно указанное число строк.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @DisplayName("Загрузка небольшого числа постов")
+    @Severity(SeverityLevel.NORMAL)
+    void testSeedSmokeRun() throws SQLException {
+        maxIdBefore = maxPostId();
+        List<Long> progressRows = new ArrayList<>();
+        PostSeeder seeder = new PostSeeder(connection, generator);
+        seeder.setProgressInterval(SMOKE_PROGRESS_INTERVAL);
+        seeder.setProgressListener((rows, rowsPerSecond) -> {
+            assertTrue(rowsPerSecond > 0, "Скорость загрузки не измерена.");
+            progressRows.add(rows);
+        });
+
+        PostSeeder.SeedReport report = seeder.seed(SMOKE_ROWS, false);
+
+        assertEquals(SMOKE_ROWS, report.rows());
+        assertEquals(SMOKE_ROWS, seededPostCount());
+        assertEquals(List.of(10L, 20L), progressRows);
+    }
+
+    /**
+     * Проверяет загрузку объема {@code seed.rows} с удалением вторичных индексов на время загрузки.
+     * Проверяет число строк и то, что набор индексов wp_posts после загрузки не изменился.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @Test
+    @Tag("scale")
+    @DisplayName("Загрузка постов в масштабе")
+    @Severity(SeverityLevel.NORMAL)
+    void testSeedAtScale() throws SQLException {
+        Config config = new Config();
+        long rows = Long.parseLong(config.getProperty("seed.rows"));
+        maxIdBefore = maxPostId();
+        List<String> indexesBefore = indexDefinitions();
+        PostSeeder seeder = new PostSeeder(connection, generator);
+        seeder.setProgressInterval(Long.parseLong(config.getProperty("seed.progressInterval")));
+
+        PostSeeder.SeedReport report = seeder.seed(rows, Boolean.parseBoolean(config.getProperty("seed.disableSecondaryIndexes")));
+
+        assertEquals(rows, report.rows());
+        assertEquals(rows, seededPostCount());
+        assertEquals(indexesBefore, indexDefinitions(), "Вторичные индексы wp_posts изменились после загрузки.");
+    }
+
+    /**
+     * Удаляет загруженные посты.
+     * В режиме {@link RollbackIsolation} или при восстановлении таблиц из снимка не требуется.
+     *
+     * @throws SQLException если возникает ошибка доступа к базе данных
+     */
+    @AfterEach
+    void deleteSeededPosts() throws SQLException {
+        if (needsRowCleanup()) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM wp_posts WHERE ID > ? AND guid = ?")) {
+                statement.setLong(1, maxIdBefore);
+                statement.setString(2, SEED_GUID);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private long maxPostId() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(ID), 0) FROM wp_posts")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private long seededPostCount() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM wp_posts WHERE ID > ? AND guid = ?")) {
+            statement.setLong(1, maxIdBefore);
+            statement.setString(2, SEED_GUID);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private List<String> indexDefinitions() throws SQLException {
+        List<String> indexes = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW INDEX FROM wp_posts")) {
+            while (resultSet.next()) {
+                indexes.add(String.join(" ", resultSet.getString("Key_name"), resultSet.getString("Seq_in_index"),
+                        resultSet.getString("Column_name"), resultSet.getString("Collation"),
+                        resultSet.getString("Sub_part"), resultSet.getString("Non_unique"),
+                        resultSet.getString("Index_type")));
+            }
+        }
+        return indexes;
+    }
+}
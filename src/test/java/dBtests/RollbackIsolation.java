@@ -0,0 +1,22 @@
+package dBtests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Включает для тестового класса режим изоляции через откат транзакции.
+ * <p>
+ * Каждый тест выполняется в одной транзакции, которая откатывается после теста,
+ * поэтому удалять созданные строки отдельными запросами не нужно, а незафиксированные
+ * строки не видны тестам, выполняющимся параллельно.
+ * Для всех классов режим включается свойством {@code db.rollbackIsolation=true}.
+ * </p>
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface RollbackIsolation {
+}
@@ -0,0 +1,149 @@
+package load;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import utils.Config;
+import utils.Contracts;
+import utils.RandomGenerator;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Сценарии создания, чтения, обновления и удаления пользователей, постов и меток.
+ * <p>
+ * Повторяют последовательность запросов из {@code UserTests}, {@code PostTests} и {@code TagTests}.
+ * Проверяется статус-код каждого ответа, а тело ответа на чтение — по контракту из {@link Contracts}
+ * для выборки, заданной в {@link LoadEngine#setValidationSampleRate(double)}.
+ * Созданные сущности удаляются в конце каждой итерации.
+ * </p>
+ */
+public final class CrudScenarios {
+    private final RequestSpecification requestSpec;
+    private final RandomGenerator generator;
+    private final String apiUsers;
+    private final String apiTags;
+    private final String apiPosts;
+    private final String postStatus;
+    private final String postStatusNew;
+
+    /**
+     * Создает сценарии для целей из конфигурации тестов.
+     *
+     * @param requestSpec Общая спецификация авторизованных запросов.
+     * @param config      Конфигурация тестов.
+     * @param generator   Генератор тестовых данных.
+     */
+    public CrudScenarios(RequestSpecification requestSpec, Config config, RandomGenerator generator) {
+        this.requestSpec = requestSpec;
+        this.generator = generator;
+        this.apiUsers = config.getProperty("api.users");
+        this.apiTags = config.getProperty("api.tags");
+        this.apiPosts = config.getProperty("api.posts");
+        this.postStatus = config.getProperty("post.status");
+        this.postStatusNew = config.getProperty("post.status.new");
+    }
+
+    /**
+     * Возвращает все сценарии в порядке чередования.
+     *
+     * @return Сценарии пользователей, постов и меток.
+     */
+    public List<Scenario> all() {
+        return List.of(this::user, this::post, this::tag);
+    }
+
+    /**
+     * Возвращает запросы коллекций постов, пользователей и меток для нагрузки с открытым циклом.
+     *
+     * @return Запросы {@code GET} к коллекциям.
+     */
+    public List<OpenLoopEngine.Target> collections() {
+        return List.of(
+                new OpenLoopEngine.Target("GET /posts", 200, () -> given(requestSpec).get(apiPosts)),
+                new OpenLoopEngine.Target("GET /users", 200, () -> given(requestSpec).get(apiUsers)),
+                new OpenLoopEngine.Target("GET /tags", 200, () -> given(requestSpec).get(apiTags)));
+    }
+
+    /**
+     * Создание, чтение, обновление и удаление пользователя.
+     *
+     * @param session Сессия виртуального пользователя.
+     */
+    public void user(LoadSession session) {
+        String username = generator.generateNamespacedWord(8);
+        String email = username + "@example.com";
+        String description = generator.generateRandomWord(8);
+        int id = session.send("POST /users", 201, () -> given(requestSpec)
+                .formParam("username", username)
+                .formParam("email", email)
+                .formParam("password", generator.generateRandomWord(11))
+                .formParam("description", description)
+                .post(apiUsers)).path("id");
+        try {
+            Response user = session.send("GET /users/{id}", 200, () -> given(requestSpec).get(apiUsers + id));
+            session.verify("GET /users/{id}", user, Contracts.USER, new Contracts.User(id, username, description, email));
+            session.send("POST /users/{id}", 200, () -> given(requestSpec)
+                    .formParam("description", generator.generateRandomWord(7))
+                    .post(apiUsers + id));
+        } finally {
+            session.send("DELETE /users/{id}", 200, () -> given(requestSpec)
+                    .queryParam("force", true)
+                    .queryParam("reassign", 1)
+                    .delete(apiUsers + id));
+        }
+    }
+
+    /**
+     * Создание, чтение, обновление и удаление поста.
+     *
+     * @param session Сессия виртуального пользователя.
+     */
+    public void post(LoadSession session) {
+        String title = generator.generateTitle();
+        String content = generator.generatePostContent();
+        int id = session.send("POST /posts", 201, () -> given(requestSpec)
+                .formParam("title", title)
+                .formParam("content", content)
+                .formParam("status", postStatus)
+                .post(apiPosts)).path("id");
+        try {
+            Response post = session.send("GET /posts/{id}", 200, () -> given(requestSpec).get(apiPosts + id));
+            session.verify("GET /posts/{id}", post, Contracts.POST, new Contracts.Post(id, title, content, postStatus));
+            session.send("POST /posts/{id}", 200, () -> given(requestSpec)
+                    .formParam("status", postStatusNew)
+                    .post(apiPosts + id));
+        } finally {
+            session.send("DELETE /posts/{id}", 200, () -> given(requestSpec)
+                    .queryParam("force", true)
+                    .delete(apiPosts + id));
+        }
+    }
+
+    /**
+     * Создание, чтение, обновление и удаление метки.
+     *
+     * @param session Сессия виртуального пользователя.
+     */
+    public void tag(LoadSession session) {
+        String name = generator.generateNamespacedWord(8);
+        String description = generator.generateRandomWord(9);
+        int id = session.send("POST /tags", 201, () -> given(requestSpec)
+                .formParam("description", description)
+                .formParam("name", name)
+                .post(apiTags)).path("id");
+        try {
+            Response tag = session.send("GET /tags/{id}", 200, () -> given(requestSpec).get(apiTags + id));
+            session.verify("GET /tags/{id}", tag, Contracts.TAG,
+                    new Contracts.Tag(id, name, name.toLowerCase(), description));
+            session.send("POST /tags/{id}", 200, () -> given(requestSpec)
+                    .formParam("name", generator.generateNamespacedWord(8))
+                    .post(apiTags + id));
+        } finally {
+            session.send("DELETE /tags/{id}", 200, () -> given(requestSpec)
+                    .queryParam("force", true)
+                    .delete(apiTags + id));
+        }
+    }
+}
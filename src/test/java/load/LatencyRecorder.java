@@ -0,0 +1,73 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезопасная запись задержек по эндпоинтам в HDR-гистограммы.
+ * <p>
+ * Значения хранятся в микросекундах с точностью до трех значащих цифр;
+ * гистограммы расширяются автоматически, поэтому выбросы не теряются.
+ * </p>
+ */
+public final class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Записывает задержку запроса.
+     *
+     * @param endpoint     Имя эндпоинта.
+     * @param latencyNanos Задержка, нс.
+     */
+    public void record(String endpoint, long latencyNanos) {
+        endpoint(endpoint).histogram.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * Учитывает ошибочный ответ или исключение при запросе.
+     *
+     * @param endpoint Имя эндпоинта.
+     */
+    public void recordError(String endpoint) {
+        endpoint(endpoint).errors.increment();
+    }
+
+    /**
+     * Возвращает копии гистограмм по эндпоинтам, отсортированные по имени.
+     *
+     * @return Гистограммы задержек в микросекундах.
+     */
+    public Map<String, Histogram> histograms() {
+        Map<String, Histogram> copies = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> copies.put(name, endpoint.histogram.copy()));
+        return copies;
+    }
+
+    /**
+     * Возвращает количество ошибок по эндпоинтам.
+     *
+     * @return Количество ошибок.
+     */
+    public Map<String, Long> errors() {
+        Map<String, Long> errors = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> errors.put(name, endpoint.errors.sum()));
+        return errors;
+    }
+
+    private Endpoint endpoint(String name) {
+        return endpoints.computeIfAbsent(name, key -> new Endpoint());
+    }
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,126 @@
+package load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузка с замкнутым циклом: N виртуальных пользователей выполняют сценарии один за другим
+ * без пауз, пока не истечет время или не будет выполнено заданное число итераций.
+ * <p>
+ * Если среда выполнения поддерживает виртуальные потоки (Java 21+), каждый пользователь
+ * получает свой виртуальный поток; на Java 17 используется пул платформенных потоков того же размера.
+ * </p>
+ */
+public final class LoadEngine {
+    private final List<Scenario> scenarios;
+    private final int users;
+    private double validationSampleRate;
+
+    /**
+     * Создает движок нагрузки.
+     *
+     * @param scenarios Сценарии, которые пользователи выполняют по очереди.
+     * @param users     Количество одновременных виртуальных пользователей.
+     */
+    public LoadEngine(List<Scenario> scenarios, int users) {
+        if (scenarios.isEmpty() || users < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один сценарий и один пользователь.");
+        }
+        this.scenarios = List.copyOf(scenarios);
+        this.users = users;
+    }
+
+    /**
+     * Задает долю ответов, проверяемых по контракту во время нагрузки.
+     *
+     * @param validationSampleRate Доля от 0 до 1; 0 отключает проверку.
+     */
+    public void setValidationSampleRate(double validationSampleRate) {
+        this.validationSampleRate = validationSampleRate;
+    }
+
+    /**
+     * Выполняет нагрузку в течение заданного времени.
+     *
+     * @param duration Длительность нагрузки.
+     * @return Отчет о нагрузке.
+     * @throws InterruptedException Если ожидание пользователей было прервано.
+     */
+    public LoadReport runFor(Duration duration) throws InterruptedException {
+        return run(System.nanoTime() + duration.toNanos(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Выполняет заданное количество итераций на каждого пользователя.
+     *
+     * @param iterationsPerUser Количество итераций сценариев на пользователя.
+     * @return Отчет о нагрузке.
+     * @throws InterruptedException Если ожидание пользователей было прервано.
+     */
+    public LoadReport runIterations(long iterationsPerUser) throws InterruptedException {
+        return run(Long.MAX_VALUE, iterationsPerUser);
+    }
+
+    private LoadReport run(long deadlineNanos, long iterationsPerUser) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        LongAdder iterations = new LongAdder();
+        LongAdder failedIterations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = newUserExecutor(users);
+        long startedAt;
+        try {
+            for (int user = 0; user < users; user++) {
+                int offset = user;
+                executor.execute(() -> {
+                    LoadSession session = new LoadSession(recorder, validationSampleRate);
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (long i = 0; i < iterationsPerUser && deadlineNanos - System.nanoTime() > 0; i++) {
+                        Scenario scenario = scenarios.get((int) ((offset + i) % scenarios.size()));
+                        try {
+                            scenario.run(session);
+                        } catch (RuntimeException e) {
+                            failedIterations.increment();
+                        }
+                        iterations.increment();
+                    }
+                });
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return new LoadReport(users, elapsedNanos, iterations.sum(), failedIterations.sum(),
+                recorder.histograms(), recorder.errors());
+    }
+
+    /**
+     * Возвращает исполнителя с виртуальным потоком на задачу, если он доступен,
+     * иначе пул платформенных потоков-демонов по одному на пользователя.
+     */
+    static ExecutorService newUserExecutor(int users) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(users, runnable -> {
+                Thread thread = new Thread(runnable, "load-user-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
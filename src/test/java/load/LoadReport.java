@@ -0,0 +1,86 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Итог нагрузки: пропускная способность и процентили задержки по эндпоинтам.
+ *
+ * @param users            Количество виртуальных пользователей.
+ * @param elapsedNanos     Длительность нагрузки, нс.
+ * @param iterations       Количество выполненных итераций сценариев.
+ * @param failedIterations Количество итераций, прерванных ошибкой.
+ * @param histograms       Гистограммы задержек по эндпоинтам, мкс.
+ * @param errors           Количество ошибок по эндпоинтам.
+ */
+public record LoadReport(int users, long elapsedNanos, long iterations, long failedIterations,
+                         Map<String, Histogram> histograms, Map<String, Long> errors) {
+
+    /**
+     * Возвращает общее количество запросов.
+     *
+     * @return Количество запросов, включая ошибочные.
+     */
+    public long requests() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /**
+     * Возвращает долю ошибочных запросов.
+     *
+     * @return Доля ошибок от 0 до 1.
+     */
+    public double errorRate() {
+        long requests = requests();
+        long failed = errors.values().stream().mapToLong(Long::longValue).sum();
+        return requests == 0 ? (failed == 0 ? 0 : 1) : (double) failed / requests;
+    }
+
+    /**
+     * Возвращает общую пропускную способность.
+     *
+     * @return Запросов в секунду.
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : requests() / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT,
+                "Пользователей: %d, длительность: %.1f с, итераций: %d (ошибок: %d), запросов: %d, %.1f запросов/с%n",
+                users, seconds, iterations, failedIterations, requests(), throughput()));
+        appendLatencyTable(report, histograms, errors, seconds);
+        return report.toString();
+    }
+
+    /**
+     * Дописывает таблицу процентилей задержки по эндпоинтам.
+     *
+     * @param report     Формируемый отчет.
+     * @param histograms Гистограммы задержек по эндпоинтам, мкс.
+     * @param errors     Количество ошибок по эндпоинтам.
+     * @param seconds    Длительность измерения, с.
+     */
+    static void appendLatencyTable(StringBuilder report, Map<String, Histogram> histograms, Map<String, Long> errors,
+                                   double seconds) {
+        report.append(String.format("%-22s | %7s | %6s | %8s | %8s | %8s | %8s | %8s | %8s%n",
+                "эндпоинт", "запросы", "ошибки", "rps", "p50, мс", "p95, мс", "p99, мс", "p99.9, мс", "max, мс"));
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            report.append(String.format(Locale.ROOT, "%-22s | %7d | %6d | %8.1f | %8.1f | %8.1f | %8.1f | %8.1f | %8.1f%n",
+                    entry.getKey(), histogram.getTotalCount(), errors.getOrDefault(entry.getKey(), 0L),
+                    seconds == 0 ? 0 : histogram.getTotalCount() / seconds,
+                    millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0));
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
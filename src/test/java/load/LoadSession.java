@@ -0,0 +1,77 @@
+package load;
+
+import io.restassured.response.Response;
+import utils.ResponseContract;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Сессия виртуального пользователя: отправляет запросы сценария и записывает их задержку.
+ */
+public final class LoadSession {
+    private final LatencyRecorder recorder;
+    private final double validationSampleRate;
+
+    /**
+     * Создает сессию, записывающую задержки в указанный регистратор.
+     *
+     * @param recorder             Регистратор задержек по эндпоинтам.
+     * @param validationSampleRate Доля ответов от 0 до 1, проверяемых по контракту в {@link #verify}.
+     */
+    public LoadSession(LatencyRecorder recorder, double validationSampleRate) {
+        this.recorder = recorder;
+        this.validationSampleRate = validationSampleRate;
+    }
+
+    /**
+     * Отправляет запрос и записывает его задержку под именем эндпоинта.
+     *
+     * @param endpoint       Имя эндпоинта в отчете, например {@code GET /users/{id}}.
+     * @param expectedStatus Ожидаемый статус-код ответа.
+     * @param request        Запрос.
+     * @return Ответ.
+     * @throws IllegalStateException Если статус-код ответа отличается от ожидаемого;
+     *                               итерация сценария при этом прерывается.
+     */
+    public Response send(String endpoint, int expectedStatus, Supplier<Response> request) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = request.get();
+        } catch (RuntimeException e) {
+            recorder.recordError(endpoint);
+            throw e;
+        }
+        recorder.record(endpoint, System.nanoTime() - start);
+        if (response.statusCode() != expectedStatus) {
+            recorder.recordError(endpoint);
+            throw new IllegalStateException(endpoint + ": ожидался статус " + expectedStatus
+                    + ", получен " + response.statusCode());
+        }
+        return response;
+    }
+
+    /**
+     * Проверяет выборку ответов по контракту. Проверка выполняется после замера задержки
+     * и на нее не влияет; доля проверяемых ответов задается при создании сессии.
+     *
+     * @param endpoint Имя эндпоинта в отчете.
+     * @param response Ответ.
+     * @param contract Контракт ответа.
+     * @param expected Ожидаемые значения.
+     * @param <C>      Тип ожидаемых значений.
+     * @throws IllegalStateException Если проверенный ответ не соответствует контракту.
+     */
+    public <C> void verify(String endpoint, Response response, ResponseContract<C> contract, C expected) {
+        if (validationSampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= validationSampleRate) {
+            return;
+        }
+        List<String> mismatches = contract.mismatches(response.asByteArray(), expected);
+        if (!mismatches.isEmpty()) {
+            recorder.recordError(endpoint);
+            throw new IllegalStateException(endpoint + ": " + String.join("; ", mismatches));
+        }
+    }
+}
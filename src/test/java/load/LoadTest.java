@@ -0,0 +1,104 @@
+package load;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Epic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import utils.ApiSpecs;
+import utils.CollectionCrawler;
+import utils.Config;
+import utils.RandomGenerator;
+import utils.RunReportExtension;
+import utils.WordPressStub;
+import utils.WordPressStubExtension;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочный прогон CRUD-сценариев против целей из config.properties.
+ * <p>
+ * Исключен из обычного запуска; запускается профилем {@code mvn test -Pload}.
+ * Параметры задаются ключами {@code load.*}, их можно переопределить через {@code -D}.
+ * С {@code -Dstub.enabled=true} нагрузка идет на встроенный {@link WordPressStub}, что позволяет
+ * измерить накладные расходы клиента без сервера.
+ * </p>
+ */
+@Tag("load")
+@ExtendWith({RunReportExtension.class, WordPressStubExtension.class})
+@Epic("Load testing WordPressAPI")
+public class LoadTest {
+
+    /**
+     * Выполняет CRUD-сценарии пользователей, постов и меток заданным числом пользователей
+     * и проверяет, что доля ошибок не превышает {@code load.maxErrorRate}.
+     */
+    @Test
+    public void closedLoopCrud() throws InterruptedException {
+        Config config = new Config();
+        CrudScenarios scenarios = new CrudScenarios(ApiSpecs.authorized(config), config, new RandomGenerator());
+        LoadEngine engine = new LoadEngine(scenarios.all(), Integer.parseInt(config.getProperty("load.users")));
+        engine.setValidationSampleRate(Double.parseDouble(config.getProperty("load.validationSampleRate")));
+
+        long iterations = Long.parseLong(config.getProperty("load.iterations"));
+        LoadReport report = iterations > 0
+                ? engine.runIterations(iterations)
+                : engine.runFor(Duration.ofSeconds(Long.parseLong(config.getProperty("load.durationSeconds"))));
+
+        System.out.print(report);
+        Allure.addAttachment("Нагрузка с замкнутым циклом", report.toString());
+        double maxErrorRate = Double.parseDouble(config.getProperty("load.maxErrorRate"));
+        assertTrue(report.errorRate() <= maxErrorRate,
+                "Доля ошибок " + report.errorRate() + " превышает " + maxErrorRate);
+    }
+
+    /**
+     * Отправляет запросы к коллекциям постов, пользователей и меток с частотой из
+     * {@code load.openLoop.rates} и проверяет, что доля ошибок и отброшенных запросов
+     * не превышает {@code load.maxErrorRate}.
+     */
+    @Test
+    public void openLoopCollections() throws InterruptedException {
+        Config config = new Config();
+        CrudScenarios scenarios = new CrudScenarios(ApiSpecs.authorized(config), config, new RandomGenerator());
+        OpenLoopEngine engine = new OpenLoopEngine(scenarios.collections(),
+                Integer.parseInt(config.getProperty("load.openLoop.maxInFlight")),
+                Duration.ofMillis(Long.parseLong(config.getProperty("load.openLoop.lateThresholdMillis"))));
+
+        OpenLoopReport report = engine.run(OpenLoopEngine.RateStep.parse(config.getProperty("load.openLoop.rates"),
+                Duration.ofSeconds(Long.parseLong(config.getProperty("load.openLoop.stepSeconds")))));
+
+        System.out.print(report);
+        Allure.addAttachment("Нагрузка с открытым циклом", report.toString());
+        double maxErrorRate = Double.parseDouble(config.getProperty("load.maxErrorRate"));
+        assertTrue(report.errorRate() <= maxErrorRate,
+                "Доля ошибок и отброшенных запросов " + report.errorRate() + " превышает " + maxErrorRate);
+    }
+
+    /**
+     * Обходит коллекции постов, пользователей и меток целиком и прикладывает скорость
+     * загрузки страниц. Каждый элемент проверяется на наличие ID.
+     */
+    @Test
+    public void crawlCollections() throws InterruptedException {
+        Config config = new Config();
+        CollectionCrawler crawler = new CollectionCrawler(ApiSpecs.authorized(config), config);
+        StringBuilder summary = new StringBuilder();
+        for (String api : new String[]{config.getProperty("api.posts"), config.getProperty("api.users"),
+                config.getProperty("api.tags")}) {
+            LongAdder withoutId = new LongAdder();
+            CollectionCrawler.CrawlReport report = crawler.crawl(api, item -> {
+                if (!(item.get("id") instanceof Integer)) {
+                    withoutId.increment();
+                }
+            });
+            summary.append(report).append(System.lineSeparator());
+            assertEquals(0, withoutId.sum(), "Элементы без ID в " + api);
+        }
+        Allure.addAttachment("Обход коллекций", summary.toString());
+    }
+}
@@ -0,0 +1,176 @@
+package load;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Нагрузка с открытым циклом: запросы отправляются с постоянной (или ступенчатой) частотой
+ * независимо от того, успел ли сервер ответить на предыдущие.
+ * <p>
+ * Задержка измеряется от запланированного момента отправки, а не от фактического, поэтому
+ * замедление сервера и очереди на стороне клиента попадают в процентили, а не скрываются
+ * (coordinated omission). Запросы, для которых не нашлось свободного слота из
+ * {@code maxInFlight}, не отправляются и считаются отброшенными; запросы, начатые позже
+ * запланированного более чем на {@code lateThreshold}, считаются опоздавшими.
+ * </p>
+ */
+public final class OpenLoopEngine {
+    private final List<Target> targets;
+    private final int maxInFlight;
+    private final long lateThresholdNanos;
+
+    /**
+     * Создает движок нагрузки с открытым циклом.
+     *
+     * @param targets       Запросы, отправляемые по очереди.
+     * @param maxInFlight   Максимальное количество одновременно выполняющихся запросов.
+     * @param lateThreshold Допустимое опоздание начала запроса относительно расписания.
+     */
+    public OpenLoopEngine(List<Target> targets, int maxInFlight, Duration lateThreshold) {
+        if (targets.isEmpty() || maxInFlight < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один запрос и один слот.");
+        }
+        this.targets = List.copyOf(targets);
+        this.maxInFlight = maxInFlight;
+        this.lateThresholdNanos = lateThreshold.toNanos();
+    }
+
+    /**
+     * Выполняет нагрузку ступенями с заданной частотой запросов.
+     *
+     * @param steps Ступени нагрузки; для постоянной частоты достаточно одной.
+     * @return Отчет по каждой ступени.
+     * @throws InterruptedException Если ожидание завершения запросов было прервано.
+     */
+    public OpenLoopReport run(List<RateStep> steps) throws InterruptedException {
+        Semaphore slots = new Semaphore(maxInFlight);
+        ExecutorService executor = LoadEngine.newUserExecutor(maxInFlight);
+        List<StepCounters> counters = new ArrayList<>();
+        long sequence = 0;
+        try {
+            for (RateStep step : steps) {
+                StepCounters stepCounters = new StepCounters(step);
+                counters.add(stepCounters);
+                double intervalNanos = 1e9 / step.requestsPerSecond();
+                long stepStart = System.nanoTime();
+                long stepEnd = stepStart + step.duration().toNanos();
+                for (long i = 0; ; i++) {
+                    long intended = stepStart + (long) (i * intervalNanos);
+                    if (intended - stepEnd >= 0) {
+                        break;
+                    }
+                    waitUntil(intended);
+                    Target target = targets.get((int) (sequence++ % targets.size()));
+                    stepCounters.scheduled.increment();
+                    if (!slots.tryAcquire()) {
+                        stepCounters.dropped.increment();
+                        continue;
+                    }
+                    executor.execute(() -> {
+                        try {
+                            send(target, intended, stepCounters);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                }
+                stepCounters.elapsedNanos = System.nanoTime() - stepStart;
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        List<OpenLoopReport.Step> results = new ArrayList<>();
+        for (StepCounters stepCounters : counters) {
+            results.add(new OpenLoopReport.Step(stepCounters.step, stepCounters.elapsedNanos,
+                    stepCounters.scheduled.sum(), stepCounters.dropped.sum(), stepCounters.late.sum(),
+                    stepCounters.recorder.histograms(), stepCounters.recorder.errors()));
+        }
+        return new OpenLoopReport(results);
+    }
+
+    private void send(Target target, long intendedNanos, StepCounters counters) {
+        if (System.nanoTime() - intendedNanos > lateThresholdNanos) {
+            counters.late.increment();
+        }
+        try {
+            Response response = target.request().get();
+            counters.recorder.record(target.endpoint(), System.nanoTime() - intendedNanos);
+            if (response.statusCode() != target.expectedStatus()) {
+                counters.recorder.recordError(target.endpoint());
+            }
+        } catch (RuntimeException e) {
+            counters.recorder.recordError(target.endpoint());
+        }
+    }
+
+    private static void waitUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Запрос, отправляемый по расписанию.
+     *
+     * @param endpoint       Имя эндпоинта в отчете.
+     * @param expectedStatus Ожидаемый статус-код ответа.
+     * @param request        Запрос.
+     */
+    public record Target(String endpoint, int expectedStatus, Supplier<Response> request) {
+    }
+
+    /**
+     * Ступень нагрузки.
+     *
+     * @param requestsPerSecond Частота запросов.
+     * @param duration          Длительность ступени.
+     */
+    public record RateStep(double requestsPerSecond, Duration duration) {
+        public RateStep {
+            if (requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("Частота запросов должна быть положительной: " + requestsPerSecond);
+            }
+        }
+
+        /**
+         * Разбирает ступени из строки вида {@code 10,20,40}; каждая частота выполняется заданное время.
+         *
+         * @param rates        Частоты через запятую, запросов в секунду.
+         * @param stepDuration Длительность каждой ступени.
+         * @return Ступени нагрузки.
+         */
+        public static List<RateStep> parse(String rates, Duration stepDuration) {
+            return Arrays.stream(rates.split(","))
+                    .map(String::trim)
+                    .filter(rate -> !rate.isEmpty())
+                    .map(rate -> new RateStep(Double.parseDouble(rate), stepDuration))
+                    .toList();
+        }
+    }
+
+    private static final class StepCounters {
+        private final RateStep step;
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        private final LongAdder scheduled = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder late = new LongAdder();
+        private long elapsedNanos;
+
+        private StepCounters(RateStep step) {
+            this.step = step;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Итог нагрузки с открытым циклом по ступеням частоты.
+ *
+ * @param steps Результаты ступеней в порядке выполнения.
+ */
+public record OpenLoopReport(List<Step> steps) {
+
+    /**
+     * Возвращает общее количество отброшенных запросов.
+     *
+     * @return Количество запросов, не отправленных из-за отсутствия свободного слота.
+     */
+    public long dropped() {
+        return steps.stream().mapToLong(Step::dropped).sum();
+    }
+
+    /**
+     * Возвращает долю ошибочных и отброшенных запросов среди запланированных.
+     *
+     * @return Доля от 0 до 1.
+     */
+    public double errorRate() {
+        long scheduled = steps.stream().mapToLong(Step::scheduled).sum();
+        long failed = dropped() + steps.stream()
+                .flatMap(step -> step.errors().values().stream())
+                .mapToLong(Long::longValue).sum();
+        return scheduled == 0 ? 0 : (double) failed / scheduled;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        for (Step step : steps) {
+            double seconds = step.elapsedNanos() / 1e9;
+            report.append(String.format(Locale.ROOT,
+                    "Ступень %.1f запросов/с на %d с: запланировано %d, отброшено %d, опоздало %d, фактически %.1f запросов/с%n",
+                    step.rate().requestsPerSecond(), step.rate().duration().toSeconds(), step.scheduled(),
+                    step.dropped(), step.late(), seconds == 0 ? 0 : (step.scheduled() - step.dropped()) / seconds));
+            LoadReport.appendLatencyTable(report, step.histograms(), step.errors(), seconds);
+        }
+        return report.toString();
+    }
+
+    /**
+     * Результат одной ступени.
+     *
+     * @param rate         Ступень нагрузки.
+     * @param elapsedNanos Фактическая длительность ступени, нс.
+     * @param scheduled    Количество запланированных запросов.
+     * @param dropped      Количество отброшенных запросов.
+     * @param late         Количество запросов, начатых позже допустимого.
+     * @param histograms   Гистограммы задержек от запланированного начала по эндпоинтам, мкс.
+     * @param errors       Количество ошибок по эндпоинтам.
+     */
+    public record Step(OpenLoopEngine.RateStep rate, long elapsedNanos, long scheduled, long dropped, long late,
+                       Map<String, Histogram> histograms, Map<String, Long> errors) {
+    }
+}
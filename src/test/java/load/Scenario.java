@@ -0,0 +1,14 @@
+package load;
+
+/**
+ * Сценарий нагрузки: последовательность запросов, которую выполняет один виртуальный пользователь.
+ */
+@FunctionalInterface
+public interface Scenario {
+    /**
+     * Выполняет одну итерацию сценария.
+     *
+     * @param session Сессия виртуального пользователя, через которую отправляются запросы.
+     */
+    void run(LoadSession session);
+}
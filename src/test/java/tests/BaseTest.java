@@ -1,30 +1,63 @@
 package tests;
 
 import io.qameta.allure.Epic;
-import io.restassured.RestAssured;
 import io.restassured.specification.RequestSpecification;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import utils.ApiSpecs;
+import utils.BatchClient;
+import utils.CleanupQueue;
+import utils.CleanupQueueExtension;
 import utils.Config;
+import utils.LatencyBaselineExtension;
 import utils.RandomGenerator;
+import utils.RequestStatsExtension;
+import utils.RunReportExtension;
+import utils.TableSnapshotExtension;
+import utils.TestContext;
+import utils.WordPressStubExtension;
 @Epic("Testing WordPressAPI")
+@ExtendWith({RunReportExtension.class, WordPressStubExtension.class, TableSnapshotExtension.class, LatencyBaselineExtension.class,
+        RequestStatsExtension.class, CleanupQueueExtension.class})
 public abstract class BaseTest {
-    protected static RequestSpecification requestSpec;
+    private static RequestSpecification requestSpec;
+    protected static BatchClient batchClient;
     protected static RandomGenerator generator;
-    protected static int checkedId;
     protected static Config config;
     protected static String fakeID;
     protected static String apiUsers;
     protected static String apiTags;
     protected static String apiPosts;
+    protected TestContext context;
+    protected int checkedId;
     /**
-     * Инициализирует конфигурационные данные.
-     * Выполняется один раз перед всеми тестами.
+     * Инициализирует конфигурационные данные и общую спецификацию запросов.
+     * Выполняется один раз перед всеми тестами; при параллельном запуске классов
+     * повторные вызовы ничего не меняют.
      */
     @BeforeAll
-    public static void setUpBeforeClass() {
+    public static synchronized void setUpBeforeClass() {
+        if (config != null) {
+            return;
+        }
         config=new Config();
         generator = new RandomGenerator();
-        RestAssured.baseURI = config.getProperty("baseURI");
+        requestSpec = ApiSpecs.authorized(config);
+        batchClient = new BatchClient(requestSpec, config);
         fakeID = config.getProperty("fakeId");
+        apiUsers = config.getProperty("api.users");
+        apiTags = config.getProperty("api.tags");
+        apiPosts = config.getProperty("api.posts");
+    }
+
+    /**
+     * Создает контекст теста, в котором запоминаются созданные им сущности.
+     *
+     * @param cleanupQueue Общая очередь удаления, которую передает {@link CleanupQueueExtension}.
+     */
+    @BeforeEach
+    public void createTestContext(CleanupQueue cleanupQueue) {
+        context = new TestContext(requestSpec, cleanupQueue, config);
     }
 }
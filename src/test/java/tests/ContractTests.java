@@ -0,0 +1,74 @@
+package tests;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Epic;
+import org.junit.jupiter.api.Test;
+import utils.Contracts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Класс проверки контрактов ответов по заранее составленным телам ответов, без обращения к сайту.
+ * <p>
+ * Тело {@code contracts/post-blocks.json} составлено вручную в формате ответа WordPress на запись
+ * с абзацем, заголовком и списком: разделители блоков вырезаны, абзацы вокруг блоков не добавлены.
+ * Оно не снято с работающего сайта, поэтому закрепляет эти правила вывода независимо от кода
+ * контракта, но не подтверждает, что так выводит конкретная версия WordPress.
+ * </p>
+ */
+@Epic("Testing WordPressAPI contracts")
+public class ContractTests {
+    private static final int POST_ID = 271;
+    private static final String POST_TITLE = "Grai tu vo";
+
+    /**
+     * Тест соответствия контракта записи выведенным блокам.
+     * Проверяет, что ответ с выведенными блоками абзаца, заголовка и списка проходит контракт.
+     */
+    @Test
+    @Description("Post with heading and list blocks rendered by WordPress rules matches the post contract")
+    public void testBlockPostMatchesContract() throws IOException {
+        byte[] body = read("contracts/post-blocks.json");
+
+        List<String> mismatches = Contracts.POST_EDIT.mismatches(body, expectedPost());
+
+        assertTrue(mismatches.isEmpty(), "Ответ не прошел контракт: " + mismatches);
+    }
+
+    /**
+     * Тест обнаружения потерянного элемента списка.
+     * Проверяет, что контракт отклоняет ответ, в выводе которого пропал один пункт списка.
+     */
+    @Test
+    @Description("Post contract rejects rendered content with a missing list item")
+    public void testMissingListItemBreaksContract() throws IOException {
+        String original = new String(read("contracts/post-blocks.json"), StandardCharsets.UTF_8);
+        String damaged = original.replace("\\n\\n\\n\\n<li>Fe sta<\\/li>", "");
+        assertFalse(damaged.equals(original), "В ответе нет пункта списка для удаления");
+
+        List<String> mismatches = Contracts.POST_EDIT.mismatches(damaged.getBytes(StandardCharsets.UTF_8), expectedPost());
+
+        assertEquals(1, mismatches.size(), "Ожидалось одно расхождение: " + mismatches);
+    }
+
+    private static Contracts.Post expectedPost() throws IOException {
+        String raw = new String(read("contracts/post-blocks.html"), StandardCharsets.UTF_8);
+        return new Contracts.Post(POST_ID, POST_TITLE, raw, "draft");
+    }
+
+    private static byte[] read(String resource) throws IOException {
+        try (InputStream input = ContractTests.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IOException("Не найден ресурс " + resource);
+            }
+            return input.readAllBytes();
+        }
+    }
+}
@@ -5,33 +5,21 @@ import io.qameta.allure.Epic;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInfo;
-import utils.DeleteDataUtils;
+import utils.Contracts;
 
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
 
 /**
  * Класс тестирования API для взаимодействия с Posts.
  */
 @Epic("Testing WordPressAPI for posts")
 public class PostTests extends BaseTest {
-    private final String title = generator.generateRandomWord(12);
-    private final String content = generator.generateRandomWord(14);
+    private final String title = generator.generateTitle();
+    private final String content = generator.generatePostContent();
     private final String status = config.getProperty("post.status");
     private final String statusNew = config.getProperty("post.status.new");
 
-    /**
-     * Инициализирует конфигурационные данные.
-     * Выполняется каждый раз перед @test.
-     */
-    @BeforeEach
-    public void setUp() {
-        requestSpec = given().header("Authorization", config.getProperty("token"));
-        apiPosts = config.getProperty("api.posts");
-    }
     /**
      * Тест для создания поста и получения по его ID.
      * Проверяет успешное создание поста и валидирует статус-код 201.
@@ -41,7 +29,7 @@ public class PostTests extends BaseTest {
     @Step("Create post with title, content, status")
     public void testPostPostAndGetById() {
 
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("title", title)
                 .formParam("content", content)
                 .formParam("status", status)
@@ -49,37 +37,15 @@ public class PostTests extends BaseTest {
                 .post(apiPosts);
         response.then().statusCode(201);
 
-        checkedId = response.then()
+        checkedId = context.trackPost(response.then()
                 .extract()
-                .path("id");
+                .path("id"));
 
-        Response getPostResponse = given()
-                .header("Authorization", config.getProperty("token"))
+        Response getPostResponse = given(context.requestSpec())
                 .when()
                 .get(apiPosts + checkedId);
-        getPostResponse.then().statusCode(200)
-                .body("id", equalTo(checkedId))
-                .body("date", notNullValue())
-                .body("date_gmt", notNullValue())
-                .body("guid.rendered", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("modified", notNullValue())
-                .body("modified_gmt", notNullValue())
-                .body("status", equalTo(status))
-                .body("type", equalTo("post"))
-                .body("title.rendered", equalTo(title))
-                .body("link", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("content.rendered", equalTo("<p>" + content + "</p>\n"))
-                .body("author", notNullValue())
-                .body("comment_status", equalTo("open"))
-                .body("ping_status", equalTo("open"))
-                .body("sticky", equalTo(false))
-                .body("template", equalTo(""))
-                .body("format", equalTo("standard"))
-                .body("meta", notNullValue())
-                .body("categories", hasSize(1))
-                .body("tags", empty())
-                .body("class_list", hasItem("post-" + checkedId))
-                .body("_links", notNullValue());
+        getPostResponse.then().statusCode(200);
+        Contracts.POST.assertMatches(getPostResponse, new Contracts.Post(checkedId, title, content, status));
     }
 
     /**
@@ -93,7 +59,7 @@ public class PostTests extends BaseTest {
     @Description("Update post by ID")
     @Step("Update post with ID to new status")
     public void testUpdatePostById() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("title", title)
                 .formParam("content", content)
                 .formParam("status", status)
@@ -101,40 +67,16 @@ public class PostTests extends BaseTest {
                 .post(apiPosts);
         response.then().statusCode(201);
 
-        checkedId = response.then()
+        checkedId = context.trackPost(response.then()
                 .extract()
-                .path("id");
+                .path("id"));
 
-        Response updatePostResponse = requestSpec
+        Response updatePostResponse = given(context.requestSpec())
                 .formParam("status", statusNew)
                 .when()
                 .post(apiPosts + checkedId);
-        updatePostResponse.then().statusCode(200)
-                .body("id", equalTo(checkedId))
-                .body("date", notNullValue())
-                .body("date_gmt", notNullValue())
-                .body("guid.rendered", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("modified", notNullValue())
-                .body("modified_gmt", notNullValue())
-                .body("status", equalTo(statusNew))
-                .body("type", equalTo("post"))
-                .body("title.rendered", equalTo(title))
-                .body("title.raw", equalTo(title))
-                .body("link", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("content.rendered", equalTo("<p>" + content + "</p>\n"))
-                .body("content.raw", equalTo(content))
-                .body("author", notNullValue())
-                .body("featured_media", notNullValue())
-                .body("comment_status", equalTo("open"))
-                .body("ping_status", equalTo("open"))
-                .body("sticky", equalTo(false))
-                .body("template", equalTo(""))
-                .body("format", equalTo("standard"))
-                .body("meta", notNullValue())
-                .body("categories", hasSize(1))
-                .body("tags", empty())
-                .body("class_list", hasItem("post-" + checkedId))
-                .body("_links", notNullValue());
+        updatePostResponse.then().statusCode(200);
+        Contracts.POST_EDIT.assertMatches(updatePostResponse, new Contracts.Post(checkedId, title, content, statusNew));
     }
 
     /**
@@ -147,7 +89,7 @@ public class PostTests extends BaseTest {
     @Description("Delete post by ID")
     @Step("Delete post with ID")
     public void testDeletePostById() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("title", title)
                 .formParam("content", content)
                 .formParam("status", status)
@@ -159,35 +101,11 @@ public class PostTests extends BaseTest {
                 .extract()
                 .path("id");
 
-        Response deletePostResponse = requestSpec
+        Response deletePostResponse = given(context.requestSpec())
                 .when()
                 .delete(apiPosts + checkedId);
-        deletePostResponse.then().statusCode(200)
-                .body("id", equalTo(checkedId))
-                .body("date", notNullValue())
-                .body("date_gmt", notNullValue())
-                .body("guid.rendered", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("modified", notNullValue())
-                .body("modified_gmt", notNullValue())
-                .body("status", equalTo("trash"))
-                .body("type", equalTo("post"))
-                .body("title.rendered", equalTo(title))
-                .body("title.raw", equalTo(title))
-                .body("link", equalTo("http://localhost:8000/?p=" + checkedId))
-                .body("content.rendered", equalTo("<p>" + content + "</p>\n"))
-                .body("content.raw", equalTo(content))
-                .body("author", notNullValue())
-                .body("featured_media", notNullValue())
-                .body("comment_status", equalTo("open"))
-                .body("ping_status", equalTo("open"))
-                .body("sticky", equalTo(false))
-                .body("template", equalTo(""))
-                .body("format", equalTo("standard"))
-                .body("meta", notNullValue())
-                .body("categories", hasSize(1))
-                .body("tags", empty())
-                .body("class_list", hasItem("post-" + checkedId))
-                .body("_links", notNullValue());
+        deletePostResponse.then().statusCode(200);
+        Contracts.POST_EDIT.assertMatches(deletePostResponse, new Contracts.Post(checkedId, title, content, "trash"));
     }
 
     /**
@@ -206,10 +124,9 @@ public class PostTests extends BaseTest {
                 .formParam("status", status)
                 .when()
                 .post(apiPosts);
-        response.then().statusCode(401)
-                .body("code", equalTo("rest_cannot_create"))
-                .body("message", equalTo("Извините, вам не разрешено создавать записи от лица этого пользователя."))
-                .body("data.status", equalTo(401));
+        response.then().statusCode(401);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_cannot_create",
+                "Извините, вам не разрешено создавать записи от лица этого пользователя.", 401));
     }
 
     /**
@@ -223,24 +140,19 @@ public class PostTests extends BaseTest {
     @Description("Get post by fake ID")
     @Step("Attempt to get post with fake ID")
     public void testGetPostByFakeId() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .when()
                 .get(apiPosts + fakeID);
-        response.then().statusCode(404)
-                .body("code", equalTo("rest_post_invalid_id"))
-                .body("message", equalTo("Неверный ID записи."))
-                .body("data.status", equalTo(404));
+        response.then().statusCode(404);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_post_invalid_id",
+                "Неверный ID записи.", 404));
     }
 
     /**
      * Метод, выполняющийся после каждого теста. Удаляет созданные данные.
-     *
-     * @param testInfo информация о текущем тесте
      */
     @AfterEach
-    public void tearDown(TestInfo testInfo) {
-        if ("testUpdatePostById()".equals(testInfo.getDisplayName()) || "testPostPostAndGetById()".equals(testInfo.getDisplayName())) {
-            DeleteDataUtils.deletePostById(checkedId, requestSpec, apiPosts);
-        }
+    public void tearDown() {
+        context.cleanup();
     }
 }
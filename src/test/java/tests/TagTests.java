@@ -5,32 +5,29 @@ import io.qameta.allure.Epic;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInfo;
-import utils.DeleteDataUtils;
+import utils.CollectionCrawler;
+import utils.Contracts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * Класс тестирования API для взаимодействия с Tags.
  */
 @Epic("Testing WordPressAPI for tags")
 public class TagTests extends BaseTest {
-    private final String name = generator.generateRandomWord(6);
+    private final String name = generator.generateUniqueWord(6);
     private final String description = generator.generateRandomWord(9);
-    private final String nameNew = generator.generateRandomWord(4);
-
-    /**
-     * Инициализирует конфигурационные данные.
-     * Выполняется каждый раз перед @test.
-     */
-    @BeforeEach
-    public void setUp() {
-        requestSpec = given().header("Authorization", config.getProperty("token"));
-        apiTags = config.getProperty("api.tags");
-    }
+    private final String nameNew = generator.generateUniqueWord(4);
 
     /**
      * Тест для создания нового тега.
@@ -40,34 +37,22 @@ public class TagTests extends BaseTest {
     @Description("Create a tag and verify the ID")
     @Step("Create tag with name and description")
     public void testPostTagAndGetById() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("description", description)
                 .formParam("name", name)
                 .when()
                 .post(apiTags);
         response.then().statusCode(201);
 
-        checkedId = response.then()
+        checkedId = context.trackTag(response.then()
                 .extract()
-                .path("id");
+                .path("id"));
 
-        Response getTagResponse = requestSpec
+        Response getTagResponse = given(context.requestSpec())
                 .when()
                 .get(apiTags + checkedId);
-        getTagResponse.then().statusCode(200)
-                .body("id", equalTo(checkedId))
-                .body("count", notNullValue())
-                .body("name", equalTo(name))
-                .body("description", equalTo(description))
-                .body("taxonomy", equalTo("post_tag"))
-                .body("link", startsWith("http://localhost:8000/?tag=" + name.toLowerCase()))
-                .body("slug", equalTo(name.toLowerCase()))
-                .body("meta", notNullValue())
-                .body("_links.self[0].href", endsWith("/wp/v2/tags/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/tags"))
-                .body("_links.about[0].href", endsWith("/wp/v2/taxonomies/post_tag"))
-                .body("_links.\"wp:post_type\"[0].href", startsWith("http://localhost:8000/index.php?rest_route=%2Fwp%2Fv2%2Fposts&tags=" + checkedId))
-                .body("_links.curies", notNullValue());
+        getTagResponse.then().statusCode(200);
+        Contracts.TAG.assertMatches(getTagResponse, new Contracts.Tag(checkedId, name, name.toLowerCase(), description));
     }
 
     /**
@@ -80,26 +65,25 @@ public class TagTests extends BaseTest {
     @Description("Create a tag")
     @Step("Create tag with name was used")
     public void testCreateTagWithUsedName() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("description", description)
                 .formParam("name", name)
                 .when()
                 .post(apiTags);
         response.then().statusCode(201);
 
-        checkedId = response.then()
+        checkedId = context.trackTag(response.then()
                 .extract()
-                .path("id");
+                .path("id"));
 
-        Response reResponse = requestSpec
+        Response reResponse = given(context.requestSpec())
                 .formParam("description", description)
                 .formParam("name", name)
                 .when()
                 .post(apiTags);
-        reResponse.then().statusCode(400)
-                .body("code", equalTo("term_exists"))
-                .body("message", equalTo("Элемент с указанным именем и ярлыком уже существует в этой таксономии."))
-                .body("data.status", equalTo(400));
+        reResponse.then().statusCode(400);
+        Contracts.ERROR.assertMatches(reResponse, new Contracts.ApiError("term_exists",
+                "Элемент с указанным именем и ярлыком уже существует в этой таксономии.", 400));
     }
 
     /**
@@ -112,35 +96,23 @@ public class TagTests extends BaseTest {
     @Description("Update tag by ID")
     @Step("Update tag with ID")
     public void testUpdateTagById() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("description", description)
                 .formParam("name", name)
                 .when()
                 .post(apiTags);
         response.then().statusCode(201);
 
-        checkedId = response.then()
+        checkedId = context.trackTag(response.then()
                 .extract()
-                .path("id");
+                .path("id"));
 
-        Response postTagResponse = requestSpec
+        Response postTagResponse = given(context.requestSpec())
                 .formParam("name", nameNew)
                 .when()
                 .post(apiTags + checkedId);
-        postTagResponse.then().statusCode(200)
-                .body("name", equalTo(nameNew))
-                .body("id", equalTo(checkedId))
-                .body("count", notNullValue())
-                .body("description", equalTo(description))
-                .body("taxonomy", equalTo("post_tag"))
-                .body("link", startsWith("http://localhost:8000/?tag=" + name.toLowerCase()))
-                .body("slug", equalTo(name.toLowerCase()))
-                .body("meta", notNullValue())
-                .body("_links.self[0].href", endsWith("/wp/v2/tags/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/tags"))
-                .body("_links.about[0].href", endsWith("/wp/v2/taxonomies/post_tag"))
-                .body("_links.\"wp:post_type\"[0].href", startsWith("http://localhost:8000/index.php?rest_route=%2Fwp%2Fv2%2Fposts&tags=" + checkedId))
-                .body("_links.curies", notNullValue());
+        postTagResponse.then().statusCode(200);
+        Contracts.TAG.assertMatches(postTagResponse, new Contracts.Tag(checkedId, nameNew, name.toLowerCase(), description));
     }
 
     /**
@@ -153,7 +125,7 @@ public class TagTests extends BaseTest {
     @Description("Delete tag by ID")
     @Step("Delete tag with ID")
     public void testDeleteTagById() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("description", description)
                 .formParam("name", name)
                 .when()
@@ -164,19 +136,12 @@ public class TagTests extends BaseTest {
                 .extract()
                 .path("id");
 
-        Response deleteTagResponse = requestSpec
+        Response deleteTagResponse = given(context.requestSpec())
                 .queryParam("force", true)
                 .when()
                 .delete(apiTags + checkedId);
-        deleteTagResponse.then().statusCode(200)
-                .body("deleted", equalTo(true))
-                .body("previous.id", equalTo(checkedId))
-                .body("previous.count", notNullValue())
-                .body("previous.description", notNullValue())
-                .body("previous.taxonomy", equalTo("post_tag"))
-                .body("previous.link", startsWith("http://localhost:8000/?tag=" + name.toLowerCase()))
-                .body("previous.slug", equalTo(name.toLowerCase()))
-                .body("previous.meta", notNullValue());
+        deleteTagResponse.then().statusCode(200);
+        Contracts.TAG_DELETED.assertMatches(deleteTagResponse, new Contracts.Tag(checkedId, name, name.toLowerCase(), description));
     }
 
     /**
@@ -194,10 +159,9 @@ public class TagTests extends BaseTest {
                 .formParam("description", description)
                 .when()
                 .post(apiTags);
-        response.then().statusCode(401)
-                .body("code", equalTo("rest_cannot_create"))
-                .body("message", equalTo("Извините, вам не разрешено создавать элементы этой таксономии."))
-                .body("data.status", equalTo(401));
+        response.then().statusCode(401);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_cannot_create",
+                "Извините, вам не разрешено создавать элементы этой таксономии.", 401));
     }
 
     /**
@@ -211,25 +175,77 @@ public class TagTests extends BaseTest {
     @Description("Get tag by fake ID")
     @Step("Attempt to get tag with fake ID")
     public void testGetTagByFakeId() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .when()
                 .get(apiTags + fakeID);
-        response.then().statusCode(404)
-                .body("code", equalTo("rest_term_invalid"))
-                .body("message", equalTo("Элемент не существует."))
-                .body("data.status", equalTo(404));
+        response.then().statusCode(404);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_term_invalid",
+                "Элемент не существует.", 404));
     }
 
     /**
-     * Метод, выполняющийся после каждого теста. Удаляет созданные данные.
+     * Тест для пакетного создания тегов через /batch/v1.
      *
-     * @param testInfo информация о текущем тесте
+     * Этот тест создает несколько тегов одним пакетным запросом и проверяет,
+     * что каждый из них доступен по возвращенному ID.
      */
-    @AfterEach
-    public void tearDown(TestInfo testInfo) {
-        if ("testUpdateTagById()".equals(testInfo.getDisplayName()) || "testPostTagAndGetById()".equals(testInfo.getDisplayName())
-                || "testCreateTagWithUsedName()".equals(testInfo.getDisplayName())) {
-            DeleteDataUtils.deleteTagById(checkedId, requestSpec, apiTags);
+    @Test
+    @Description("Create tags in one batch request")
+    @Step("Create tags through /batch/v1")
+    public void testBatchCreateTags() {
+        List<Map<String, Object>> tags = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tags.add(Map.of("name", generator.generateNamespacedWord(8), "description", description));
+        }
+
+        int[] ids = batchClient.create(apiTags, tags);
+
+        for (int i = 0; i < ids.length; i++) {
+            context.trackTag(ids[i]);
+            String tagName = (String) tags.get(i).get("name");
+            Response getTagResponse = given(context.requestSpec())
+                    .when()
+                    .get(apiTags + ids[i]);
+            getTagResponse.then().statusCode(200);
+            Contracts.TAG.assertMatches(getTagResponse,
+                    new Contracts.Tag(ids[i], tagName, tagName.toLowerCase(), description));
         }
     }
+
+    /**
+     * Тест для постраничного обхода коллекции тегов.
+     *
+     * Этот тест создает несколько тегов с общим префиксом, обходит найденные по нему теги
+     * страницами по два элемента и проверяет, что получены все созданные теги.
+     */
+    @Test
+    @Description("Crawl the tag collection page by page")
+    @Step("Crawl tags with per_page=2")
+    public void testCrawlTags() throws InterruptedException {
+        String prefix = generator.generateNamespacedWord(8);
+        List<Map<String, Object>> tags = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tags.add(Map.of("name", prefix + "_" + i, "description", description));
+        }
+        int[] ids = batchClient.create(apiTags, tags);
+        for (int id : ids) {
+            context.trackTag(id);
+        }
+
+        Set<Integer> crawledIds = ConcurrentHashMap.newKeySet();
+        CollectionCrawler.CrawlReport report = new CollectionCrawler(context.requestSpec(), 4, 2)
+                .crawl(apiTags, Map.of("search", prefix), tag -> crawledIds.add((Integer) tag.get("id")));
+
+        assertEquals(5, report.total());
+        assertEquals(3, report.totalPages());
+        assertEquals(Arrays.stream(ids).boxed().collect(Collectors.toSet()), crawledIds);
+    }
+
+    /**
+     * Метод, выполняющийся после каждого теста. Удаляет созданные данные.
+     */
+    @AfterEach
+    public void tearDown() {
+        context.cleanup();
+    }
 }
\ No newline at end of file
@@ -5,35 +5,25 @@ import io.qameta.allure.Epic;
 import io.qameta.allure.Step;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInfo;
-import utils.DeleteDataUtils;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import utils.Contracts;
 
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
 
 /**
  * Класс тестирования API для взаимодействия с Users.
  */
 @Epic("Testing WordPressAPI for users")
 public class UserTests extends BaseTest {
-    private String username = generator.generateRandomWord(5);
+    private static final String CURRENT_USER_LOCK = "wordpress-current-user";
+    private String username = generator.generateUniqueWord(5);
     private String email = generator.generateRandomEmail();
     private final String password = generator.generateRandomWord(11);
     private final String descriptionUpdated = generator.generateRandomWord(7);
     private final String description = generator.generateRandomWord(8);
 
-    /**
-     * Инициализирует конфигурационные данные.
-     * Выполняется каждый раз перед @test.
-     */
-    @BeforeEach
-    public void setUp() {
-        requestSpec = given().header("Authorization", config.getProperty("token"));
-        apiUsers = config.getProperty("api.users");
-    }
-
     /**
      * Тест для создания нового пользователя.
      * Проверяет успешное создание пользователя и валидирует статус-код 201.
@@ -42,7 +32,7 @@ public class UserTests extends BaseTest {
     @Description("Create a new user and verify the ID")
     @Step("Create user with username, email, and password")
     public void testPostUserAndGetById() {
-        Response postUserResponse = requestSpec
+        Response postUserResponse = given(context.requestSpec())
                 .formParam("username", username)
                 .formParam("email", email)
                 .formParam("password", password)
@@ -51,23 +41,13 @@ public class UserTests extends BaseTest {
                 .post(apiUsers);
         postUserResponse.then().statusCode(201);
 
-        checkedId = postUserResponse.then().extract().path("id");
+        checkedId = context.trackUser(postUserResponse.then().extract().path("id"));
 
-        Response getUserResponse = requestSpec
+        Response getUserResponse = given(context.requestSpec())
                 .when()
                 .get(apiUsers + checkedId);
-        getUserResponse.then().statusCode(200)
-                .body("id", equalTo(checkedId))
-                .body("name", equalTo(username))
-                .body("description", equalTo(description))
-                .body("url", notNullValue())
-                .body("link", equalTo("http://localhost:8000/?author=" + checkedId))
-                .body("slug", equalTo(username.toLowerCase()))
-                .body("avatar_urls.24", startsWith("https://secure.gravatar.com/avatar"))
-                .body("avatar_urls.48", startsWith("https://secure.gravatar.com/avatar"))
-                .body("avatar_urls.96", startsWith("https://secure.gravatar.com/avatar"))
-                .body("_links.self[0].href", endsWith("/wp/v2/users/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/users"));
+        getUserResponse.then().statusCode(200);
+        Contracts.USER.assertMatches(getUserResponse, new Contracts.User(checkedId, username, description, email));
     }
 
     /**
@@ -78,7 +58,7 @@ public class UserTests extends BaseTest {
     @Description("Update user by ID")
     @Step("Update user with new username")
     public void testUpdateUserById() {
-        Response postUserResponse = requestSpec
+        Response postUserResponse = given(context.requestSpec())
                 .formParam("username", username)
                 .formParam("email", email)
                 .formParam("password", password)
@@ -87,33 +67,14 @@ public class UserTests extends BaseTest {
                 .post(apiUsers);
         postUserResponse.then().statusCode(201);
 
-        checkedId = postUserResponse.then().extract().path("id");
+        checkedId = context.trackUser(postUserResponse.then().extract().path("id"));
 
-        Response updateUserResponse = requestSpec
+        Response updateUserResponse = given(context.requestSpec())
                 .formParam("description", descriptionUpdated)
                 .when()
                 .post(apiUsers + checkedId);
-        updateUserResponse.then().statusCode(200)
-                .body("description", equalTo(descriptionUpdated))
-                .body("id", equalTo(checkedId))
-                .body("username", equalTo(username))
-                .body("name", equalTo(username))
-                .body("first_name", notNullValue())
-                .body("last_name", notNullValue())
-                .body("link", startsWith("http://localhost:8000/?author=" + checkedId))
-                .body("email", equalTo(email))
-                .body("locale", startsWith("ru_RU"))
-                .body("nickname", equalTo(username))
-                .body("roles[0]", equalTo("subscriber"))
-                .body("registered_date", notNullValue())
-                .body("roles", hasItem("subscriber"))
-                .body("_links.self[0].href", endsWith("/wp/v2/users/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/users"))
-                .body("capabilities.read", equalTo(true))
-                .body("capabilities.level_0", equalTo(true))
-                .body("capabilities.subscriber", equalTo(true))
-                .body("extra_capabilities.subscriber", equalTo(true))
-                .body("avatar_urls.96", startsWith("https://secure.gravatar.com"));
+        updateUserResponse.then().statusCode(200);
+        Contracts.USER_EDIT.assertMatches(updateUserResponse, new Contracts.User(checkedId, username, descriptionUpdated, email));
     }
 
     /**
@@ -124,7 +85,7 @@ public class UserTests extends BaseTest {
     @Description("Delete user by ID")
     @Step("Delete user with created ID")
     public void testDeleteUserById() {
-        Response postUserResponse = requestSpec
+        Response postUserResponse = given(context.requestSpec())
                 .formParam("username", username)
                 .formParam("email", email)
                 .formParam("password", password)
@@ -135,29 +96,13 @@ public class UserTests extends BaseTest {
 
         checkedId = postUserResponse.then().extract().path("id");
 
-        Response deleteResponse = requestSpec
+        Response deleteResponse = given(context.requestSpec())
                 .queryParam("force", true)
                 .queryParam("reassign", 1)
                 .when()
                 .delete(apiUsers + checkedId);
-        deleteResponse.then().statusCode(200)
-                .body("deleted", equalTo(true))
-                .body("previous.id", equalTo(checkedId))
-                .body("previous.username", equalTo(username))
-                .body("previous.name", equalTo(username))
-                .body("previous.description", equalTo(description))
-                .body("previous.url", notNullValue())
-                .body("previous.link", startsWith("http://localhost:8000/?author=" + checkedId))
-                .body("previous.slug", equalTo(username.toLowerCase()))
-                .body("previous.roles", hasItem("subscriber"))
-                .body("previous.registered_date", notNullValue())
-                .body("previous.capabilities.read", equalTo(true))
-                .body("previous.capabilities.level_0", equalTo(true))
-                .body("previous.capabilities.subscriber", equalTo(true))
-                .body("previous.extra_capabilities.subscriber", equalTo(true))
-                .body("previous.avatar_urls.24", startsWith("https://secure.gravatar.com/avatar"))
-                .body("previous.avatar_urls.48", startsWith("https://secure.gravatar.com/avatar"))
-                .body("previous.avatar_urls.96", startsWith("https://secure.gravatar.com/avatar"));
+        deleteResponse.then().statusCode(200);
+        Contracts.USER_DELETED.assertMatches(deleteResponse, new Contracts.User(checkedId, username, description, email));
     }
 
     /**
@@ -167,29 +112,16 @@ public class UserTests extends BaseTest {
     @Test
     @Description("Get current user (me)")
     @Step("Retrieve details of the currently logged-in user")
+    @ResourceLock(value = CURRENT_USER_LOCK, mode = ResourceAccessMode.READ)
     public void testGetCurrentUser() {
         checkedId = 1;
         username = "Firstname.LastName";
 
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .when()
                 .get(apiUsers + "me");
         response.then().statusCode(200);
-
-        String expectedSlug = username.toLowerCase().replace(" ", "").replace(".", "-");
-
-        response.then()
-                .body("id", equalTo(checkedId))
-                .body("name", equalTo(username))
-                .body("description", notNullValue())
-                .body("url", notNullValue())
-                .body("link", startsWith("http://localhost:8000/?author=" + checkedId))
-                .body("slug", equalTo(expectedSlug.toLowerCase()))
-                .body("avatar_urls.24", startsWith("https://secure.gravatar.com/avatar"))
-                .body("avatar_urls.48", startsWith("https://secure.gravatar.com/avatar"))
-                .body("avatar_urls.96", startsWith("https://secure.gravatar.com/avatar"))
-                .body("_links.self[0].href", endsWith("/wp/v2/users/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/users"));
+        Contracts.CURRENT_USER.assertMatches(response, new Contracts.User(checkedId, username, null, null));
     }
 
     /**
@@ -199,33 +131,18 @@ public class UserTests extends BaseTest {
     @Test
     @Description("Update current user (me)")
     @Step("Update the details of the currently logged-in user")
+    @ResourceLock(CURRENT_USER_LOCK)
     public void testUpdateCurrentUser() {
         checkedId = 1;
         username = "Firstname.LastName";
         email = "firstname.lastname@simbirsoft.com";
 
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .formParam("description", descriptionUpdated)
                 .when()
                 .post(apiUsers + "me");
-        response.then().statusCode(200)
-                .body("description", equalTo(descriptionUpdated))
-                .body("id", equalTo(checkedId))
-                .body("username", equalTo(username))
-                .body("name", equalTo(username))
-                .body("first_name", notNullValue())
-                .body("last_name", notNullValue())
-                .body("link", startsWith("http://localhost:8000/?author=" + checkedId))
-                .body("email", equalTo(email))
-                .body("locale", startsWith("ru_RU"))
-                .body("nickname", equalTo(username))
-                .body("roles[0]", equalTo("administrator"))
-                .body("registered_date", notNullValue())
-                .body("_links.self[0].href", endsWith("/wp/v2/users/" + checkedId))
-                .body("_links.collection[0].href", endsWith("/wp/v2/users"))
-                .body("capabilities", notNullValue())
-                .body("meta", notNullValue())
-                .body("avatar_urls", notNullValue());
+        response.then().statusCode(200);
+        Contracts.CURRENT_USER_EDIT.assertMatches(response, new Contracts.User(checkedId, username, descriptionUpdated, email));
     }
 
     /**
@@ -243,10 +160,9 @@ public class UserTests extends BaseTest {
                 .formParam("password", password)
                 .when()
                 .post(apiUsers);
-        response.then().statusCode(401)
-                .body("code", equalTo("rest_cannot_create_user"))
-                .body("message", equalTo("Извините, вам не разрешено создавать новых пользователей."))
-                .body("data.status", equalTo(401));
+        response.then().statusCode(401);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_cannot_create_user",
+                "Извините, вам не разрешено создавать новых пользователей.", 401));
     }
 
     /**
@@ -257,24 +173,19 @@ public class UserTests extends BaseTest {
     @Description("Get user by fake ID")
     @Step("Attempt to get user with non-existent ID")
     public void testGetUserWithInvalidId() {
-        Response response = requestSpec
+        Response response = given(context.requestSpec())
                 .when()
                 .get(apiUsers + fakeID);
-        response.then().statusCode(404)
-                .body("code", equalTo("rest_user_invalid_id"))
-                .body("message", equalTo("Неверный ID пользователя."))
-                .body("data.status", equalTo(404));
+        response.then().statusCode(404);
+        Contracts.ERROR.assertMatches(response, new Contracts.ApiError("rest_user_invalid_id",
+                "Неверный ID пользователя.", 404));
     }
 
     /**
      * Метод, выполняющийся после каждого теста. Удаляет созданные данные.
-     *
-     * @param testInfo информация о текущем тесте
      */
     @AfterEach
-    public void tearDown(TestInfo testInfo) {
-        if ("testUpdateUserById()".equals(testInfo.getDisplayName()) || "testPostUserAndGetById()".equals(testInfo.getDisplayName())) {
-            DeleteDataUtils.deleteUserById(checkedId, requestSpec, apiUsers);
-        }
+    public void tearDown() {
+        context.cleanup();
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package utils;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Общие спецификации запросов к WordPress REST API.
+ */
+public final class ApiSpecs {
+    private static RequestSpecification authorized;
+
+    private ApiSpecs() {
+    }
+
+    /**
+     * Настраивает RestAssured на общий keep-alive клиент и строит спецификацию с авторизацией.
+     * Спецификация строится при первом вызове и затем переиспользуется всеми тестами и расширениями;
+     * она не изменяется: запросы создаются через {@code given(spec)}.
+     * Каждый запрос по спецификации замеряется {@link TimingFilter}.
+     *
+     * @param config Конфигурация тестов.
+     * @return Спецификация авторизованного запроса.
+     */
+    public static synchronized RequestSpecification authorized(Config config) {
+        if (authorized == null) {
+            RestAssured.baseURI = config.getProperty("baseURI");
+            RestAssured.config = KeepAliveHttpClient.restAssuredConfig(config);
+            authorized = new RequestSpecBuilder()
+                    .setBaseUri(config.getProperty("baseURI"))
+                    .setConfig(RestAssured.config)
+                    .addHeader("Authorization", config.getProperty("token"))
+                    .addFilter(new TimingFilter())
+                    .build();
+        }
+        return authorized;
+    }
+}
@@ -0,0 +1,272 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Клиент пакетных запросов WordPress {@code /batch/v1}.
+ * <p>
+ * Группирует запросы создания, изменения и удаления по {@code batch.maxSize} штук в один
+ * HTTP-запрос и возвращает результат каждого подзапроса в исходном порядке. Если сервер
+ * не поддерживает пакетный эндпоинт или конкретный маршрут не разрешен в пакете,
+ * соответствующие запросы отправляются по одному.
+ * </p>
+ */
+public class BatchClient {
+    private static final String BATCH_PATH = "?rest_route=/batch/v1";
+
+    private final RequestSpecification requestSpec;
+    private final int maxSize;
+    private volatile boolean batchSupported = true;
+
+    /**
+     * Создает клиент.
+     *
+     * @param requestSpec Общая спецификация авторизованных запросов.
+     * @param config      Конфигурация тестов с максимальным размером пакета {@code batch.maxSize}.
+     */
+    public BatchClient(RequestSpecification requestSpec, Config config) {
+        this.requestSpec = requestSpec;
+        this.maxSize = Integer.parseInt(config.getProperty("batch.maxSize"));
+    }
+
+    /**
+     * Создает сущности одним или несколькими пакетами.
+     *
+     * @param api    Путь API из конфигурации, например значение {@code api.tags}.
+     * @param bodies Параметры создаваемых сущностей.
+     * @return ID созданных сущностей в порядке {@code bodies}.
+     * @throws IllegalStateException Если хотя бы одна сущность не создана.
+     */
+    public int[] create(String api, List<Map<String, Object>> bodies) {
+        String route = route(api);
+        List<Request> requests = new ArrayList<>(bodies.size());
+        for (Map<String, Object> body : bodies) {
+            requests.add(new Request("POST", route, body));
+        }
+        return ids(execute(requests), 201);
+    }
+
+    /**
+     * Удаляет сущности одним или несколькими пакетами.
+     *
+     * @param api   Путь API из конфигурации.
+     * @param ids   ID удаляемых сущностей.
+     * @param query Параметры запроса удаления без {@code ?}, например {@code force=true}; может быть пустым.
+     * @throws IllegalStateException Если хотя бы одна сущность не удалена.
+     */
+    public void delete(String api, int[] ids, String query) {
+        String route = route(api);
+        List<Request> requests = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            requests.add(new Request("DELETE", route + "/" + id + (query.isEmpty() ? "" : "?" + query), Map.of()));
+        }
+        ids(execute(requests), 200);
+    }
+
+    /**
+     * Выполняет подзапросы пакетами и возвращает их результаты в исходном порядке.
+     *
+     * @param requests Подзапросы.
+     * @return Результаты подзапросов.
+     */
+    public List<Result> execute(List<Request> requests) {
+        List<Result> results = new ArrayList<>(requests.size());
+        for (int start = 0; start < requests.size(); start += maxSize) {
+            List<Request> chunk = requests.subList(start, Math.min(start + maxSize, requests.size()));
+            results.addAll(batchSupported ? executeBatch(chunk) : executeSingly(chunk));
+        }
+        return results;
+    }
+
+    private List<Result> executeBatch(List<Request> chunk) {
+        Response response = given(requestSpec)
+                .contentType(ContentType.JSON)
+                .body(serialize(chunk))
+                .post(BATCH_PATH);
+        if (response.statusCode() == 404 || response.statusCode() == 405) {
+            // Пакетный эндпоинт появился в WordPress 5.6; на более старых версиях работаем по одному запросу.
+            batchSupported = false;
+            return executeSingly(chunk);
+        }
+        List<Result> results = parse(response.asByteArray(), chunk.size());
+        for (int i = 0; i < results.size(); i++) {
+            if ("rest_batch_not_allowed".equals(results.get(i).code())) {
+                results.set(i, executeSingly(List.of(chunk.get(i))).get(0));
+            }
+        }
+        return results;
+    }
+
+    private List<Result> executeSingly(List<Request> chunk) {
+        List<Result> results = new ArrayList<>(chunk.size());
+        for (Request request : chunk) {
+            String[] pathAndQuery = request.path().split("\\?", 2);
+            RequestSpecification single = given(requestSpec);
+            if (!request.body().isEmpty()) {
+                single.contentType(ContentType.JSON).body(serializeBody(request.body()));
+            }
+            Response response = single.request(request.method(),
+                    "?rest_route=" + pathAndQuery[0] + (pathAndQuery.length > 1 ? "&" + pathAndQuery[1] : ""));
+            results.add(toResult(response.statusCode(), parseBody(response.asByteArray())));
+        }
+        return results;
+    }
+
+    private static int[] ids(List<Result> results, int expectedStatus) {
+        int[] ids = new int[results.size()];
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result.status() != expectedStatus || result.id() == null) {
+                failures.add("#" + i + ": " + result.status() + " " + result.code());
+            } else {
+                ids[i] = result.id();
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Не выполнены подзапросы пакета: " + String.join(", ", failures));
+        }
+        return ids;
+    }
+
+    private static List<Result> parse(byte[] body, int expected) {
+        Object tree = parseBody(body);
+        Object responses = tree instanceof Map<?, ?> map ? map.get("responses") : null;
+        if (!(responses instanceof List<?> list) || list.size() != expected) {
+            throw new IllegalStateException("Неожиданный ответ /batch/v1: " + new String(body, StandardCharsets.UTF_8));
+        }
+        List<Result> results = new ArrayList<>(expected);
+        for (Object item : list) {
+            Map<?, ?> response = item instanceof Map<?, ?> map ? map : Collections.emptyMap();
+            results.add(toResult(response.get("status") instanceof Number status ? status.intValue() : 0,
+                    response.get("body")));
+        }
+        return results;
+    }
+
+    private static Result toResult(int status, Object body) {
+        Integer id = null;
+        String code = null;
+        if (body instanceof Map<?, ?> map) {
+            Object previous = map.get("previous");
+            Object idValue = previous instanceof Map<?, ?> previousMap ? previousMap.get("id") : map.get("id");
+            if (idValue instanceof Number number) {
+                id = number.intValue();
+            }
+            if (map.get("code") instanceof String text) {
+                code = text;
+            }
+        }
+        return new Result(status, id, code);
+    }
+
+    private static Object parseBody(byte[] body) {
+        try {
+            return body.length == 0 ? null : JsonTree.parse(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static byte[] serialize(List<Request> requests) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JsonTree.JSON.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("validation", "normal");
+            generator.writeArrayFieldStart("requests");
+            for (Request request : requests) {
+                generator.writeStartObject();
+                generator.writeStringField("method", request.method());
+                generator.writeStringField("path", request.path());
+                if (!request.body().isEmpty()) {
+                    generator.writeFieldName("body");
+                    writeObject(generator, request.body());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] serializeBody(Map<String, Object> body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JsonTree.JSON.createGenerator(buffer)) {
+            writeObject(generator, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void writeObject(JsonGenerator generator, Map<String, Object> body) throws IOException {
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> field : body.entrySet()) {
+            generator.writeFieldName(field.getKey());
+            Object value = field.getValue();
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else if (value instanceof Integer || value instanceof Long) {
+                generator.writeNumber(((Number) value).longValue());
+            } else if (value instanceof Number number) {
+                generator.writeNumber(number.doubleValue());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Извлекает маршрут коллекции REST API из пути конфигурации вида {@code ?rest_route=/wp/v2/tags/}.
+     * Завершающий слеш отбрасывается: WordPress убирает его только у основного запроса, а пути
+     * подзапросов {@code /batch/v1} сравнивает с маршрутами как есть, и {@code /wp/v2/tags/}
+     * дает {@code rest_no_route}.
+     */
+    private static String route(String api) {
+        int start = api.indexOf("rest_route=");
+        String route = start < 0 ? api : api.substring(start + "rest_route=".length());
+        route = URLDecoder.decode(route, StandardCharsets.UTF_8);
+        return route.endsWith("/") ? route.substring(0, route.length() - 1) : route;
+    }
+
+    /**
+     * Подзапрос пакета.
+     *
+     * @param method HTTP-метод.
+     * @param path   Маршрут REST API с параметрами запроса, например {@code /wp/v2/tags/5?force=true}.
+     * @param body   Параметры тела; пустые для удаления.
+     */
+    public record Request(String method, String path, Map<String, Object> body) {
+    }
+
+    /**
+     * Результат подзапроса.
+     *
+     * @param status HTTP-статус подзапроса.
+     * @param id     ID сущности из тела ответа ({@code id} или {@code previous.id}); {@code null}, если его нет.
+     * @param code   Код ошибки WordPress; {@code null} для успешного ответа.
+     */
+    public record Result(int status, Integer id, String code) {
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Очередь отложенного удаления созданных тестами сущностей.
+ * <p>
+ * Тесты только ставят ID в очередь и не ждут удаления. Фоновые потоки (не больше
+ * {@code cleanup.workers}) забирают все накопившиеся ID одного вида и удаляют их пакетным
+ * запросом {@link BatchClient}, поэтому под нагрузкой удаления нескольких тестов объединяются.
+ * Ошибки удаления не роняют тесты: они собираются и выводятся при закрытии очереди,
+ * которое дожидается удаления всего поставленного.
+ * </p>
+ */
+public class CleanupQueue implements AutoCloseable {
+    private static final Path REPORT_FILE = Paths.get("target", "cleanup-failures.txt");
+
+    private final BatchClient batchClient;
+    private final ExecutorService executor;
+    private final long drainTimeoutSeconds;
+    private final Map<Target, Queue<Integer>> pending = new ConcurrentHashMap<>();
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Создает очередь удаления.
+     *
+     * @param batchClient Клиент пакетных запросов.
+     * @param config      Конфигурация тестов с ключами {@code cleanup.*}.
+     */
+    public CleanupQueue(BatchClient batchClient, Config config) {
+        this.batchClient = batchClient;
+        this.drainTimeoutSeconds = Long.parseLong(config.getProperty("cleanup.drainTimeoutSeconds"));
+        int workers = Integer.parseInt(config.getProperty("cleanup.workers"));
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cleanup-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Ставит сущности в очередь на удаление.
+     *
+     * @param target Вид сущностей и параметры их удаления.
+     * @param ids    ID сущностей.
+     */
+    public void enqueue(Target target, int... ids) {
+        if (ids.length == 0) {
+            return;
+        }
+        Queue<Integer> queue = pending.computeIfAbsent(target, key -> new ConcurrentLinkedQueue<>());
+        for (int id : ids) {
+            queue.add(id);
+        }
+        executor.execute(() -> flush(target));
+    }
+
+    /**
+     * Возвращает ошибки удаления, накопленные к текущему моменту.
+     *
+     * @return Описания ошибок.
+     */
+    public List<String> failures() {
+        return new ArrayList<>(failures);
+    }
+
+    /**
+     * Дожидается удаления всех поставленных сущностей и выводит ошибки удаления,
+     * записывая их в {@code target/cleanup-failures.txt}.
+     * Если ожидание прервано, оставшиеся удаления отменяются, а флаг прерывания потока восстанавливается.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(drainTimeoutSeconds, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+                failures.add("Очередь удаления не опустела за " + drainTimeoutSeconds + " с");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            failures.add("Ожидание очереди удаления прервано");
+            Thread.currentThread().interrupt();
+        }
+        pending.forEach((target, queue) -> {
+            if (!queue.isEmpty()) {
+                failures.add(target.api() + ": не удалены ID " + queue);
+            }
+        });
+        if (failures.isEmpty()) {
+            return;
+        }
+        System.err.println("Не удалось удалить тестовые данные (" + failures.size() + "):");
+        failures.forEach(failure -> System.err.println("  " + failure));
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.write(REPORT_FILE, failures, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать " + REPORT_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void flush(Target target) {
+        Queue<Integer> queue = pending.get(target);
+        List<Integer> batch = new ArrayList<>();
+        Integer id;
+        while ((id = queue.poll()) != null) {
+            batch.add(id);
+        }
+        if (batch.isEmpty()) {
+            // Все ID уже забрал другой поток.
+            return;
+        }
+        try {
+            batchClient.delete(target.api(), batch.stream().mapToInt(Integer::intValue).toArray(), target.deleteQuery());
+        } catch (RuntimeException e) {
+            failures.add(target.api() + " " + batch + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Вид удаляемых сущностей.
+     *
+     * @param api         Путь API из конфигурации, например значение {@code api.tags}.
+     * @param deleteQuery Параметры запроса удаления, например {@code force=true}; может быть пустым.
+     */
+    public record Target(String api, String deleteQuery) {
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Расширение JUnit, которое передает в методы тестов общую на весь прогон {@link CleanupQueue}
+ * и дожидается ее опустошения после завершения всех тестов.
+ */
+public class CleanupQueueExtension implements ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CleanupQueueExtension.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == CleanupQueue.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SuiteCleanup.class, key -> new SuiteCleanup(new Config()), SuiteCleanup.class)
+                .queue;
+    }
+
+    /**
+     * Очередь на время прогона: опустошается при закрытии корневого контекста JUnit.
+     */
+    private static final class SuiteCleanup implements ExtensionContext.Store.CloseableResource {
+        private final CleanupQueue queue;
+
+        private SuiteCleanup(Config config) {
+            queue = new CleanupQueue(new BatchClient(ApiSpecs.authorized(config), config), config);
+        }
+
+        @Override
+        public void close() {
+            queue.close();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Чтение коллекций WordPress REST API ({@code /wp/v2/posts}, {@code /users}, {@code /tags}) постранично.
+ * <p>
+ * Первая страница запрашивается отдельно: из ее заголовков {@code X-WP-Total} и {@code X-WP-TotalPages}
+ * определяется число страниц, а остальные страницы загружаются параллельно, не больше
+ * {@code crawl.parallelism} запросов одновременно. Элементы каждой страницы разбираются потоковым
+ * парсером и сразу передаются потребителю, поэтому коллекция целиком в памяти не хранится.
+ * Потребитель вызывается из нескольких потоков и должен быть потокобезопасным.
+ * </p>
+ */
+public class CollectionCrawler {
+    private final RequestSpecification requestSpec;
+    private final int parallelism;
+    private final int perPage;
+
+    /**
+     * Создает обходчик с параметрами {@code crawl.parallelism} и {@code crawl.perPage} из конфигурации.
+     *
+     * @param requestSpec Общая спецификация авторизованных запросов.
+     * @param config      Конфигурация тестов.
+     */
+    public CollectionCrawler(RequestSpecification requestSpec, Config config) {
+        this(requestSpec, Integer.parseInt(config.getProperty("crawl.parallelism")),
+                Integer.parseInt(config.getProperty("crawl.perPage")));
+    }
+
+    /**
+     * Создает обходчик.
+     *
+     * @param requestSpec Общая спецификация авторизованных запросов.
+     * @param parallelism Максимальное число одновременно загружаемых страниц.
+     * @param perPage     Размер страницы, не больше 100 (ограничение WordPress).
+     */
+    public CollectionCrawler(RequestSpecification requestSpec, int parallelism, int perPage) {
+        this.requestSpec = requestSpec;
+        this.parallelism = parallelism;
+        this.perPage = perPage;
+    }
+
+    /**
+     * Обходит всю коллекцию.
+     *
+     * @param api      Путь API из конфигурации, например значение {@code api.posts}.
+     * @param consumer Потребитель элементов коллекции.
+     * @return Отчет об обходе.
+     * @throws InterruptedException Если ожидание страниц было прервано.
+     */
+    public CrawlReport crawl(String api, Consumer<Map<String, Object>> consumer) throws InterruptedException {
+        return crawl(api, Map.of(), consumer);
+    }
+
+    /**
+     * Обходит коллекцию, отфильтрованную параметрами запроса.
+     *
+     * @param api      Путь API из конфигурации.
+     * @param filters  Дополнительные параметры запроса, например {@code search} или {@code status}.
+     * @param consumer Потребитель элементов коллекции.
+     * @return Отчет об обходе.
+     * @throws InterruptedException  Если ожидание страниц было прервано.
+     * @throws IllegalStateException Если какая-либо страница вернула статус, отличный от 200,
+     *                               или в ответе нет заголовков {@code X-WP-Total} и {@code X-WP-TotalPages}.
+     */
+    public CrawlReport crawl(String api, Map<String, ?> filters, Consumer<Map<String, Object>> consumer)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        Response first = fetch(api, filters, 1);
+        int total = intHeader(first, api, "X-WP-Total");
+        int totalPages = intHeader(first, api, "X-WP-TotalPages");
+        AtomicInteger items = new AtomicInteger(emit(first, consumer));
+
+        if (totalPages > 1) {
+            AtomicInteger counter = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, totalPages - 1), runnable -> {
+                Thread thread = new Thread(runnable, "crawler-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<?>> pages = new ArrayList<>(totalPages - 1);
+                for (int page = 2; page <= totalPages; page++) {
+                    int number = page;
+                    pages.add(executor.submit(() -> items.addAndGet(emit(fetch(api, filters, number), consumer))));
+                }
+                for (Future<?> page : pages) {
+                    page.get();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return new CrawlReport(api, total, totalPages, items.get(), System.nanoTime() - start);
+    }
+
+    private static int intHeader(Response response, String api, String name) {
+        String value = response.getHeader(name);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(api + ": ответ не содержит числового заголовка " + name
+                    + " (получено " + value + "); коллекция не поддерживает постраничный обход", e);
+        }
+    }
+
+    private Response fetch(String api, Map<String, ?> filters, int page) {
+        Response response = given(requestSpec)
+                .queryParams(filters)
+                .queryParam("per_page", perPage)
+                .queryParam("page", page)
+                .when()
+                .get(api);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Страница " + page + " коллекции " + api + " вернула статус "
+                    + response.statusCode() + ": " + response.asString());
+        }
+        return response;
+    }
+
+    /**
+     * Передает потребителю элементы страницы, читая массив по одному элементу.
+     *
+     * @return Количество элементов страницы.
+     */
+    @SuppressWarnings("unchecked")
+    private static int emit(Response response, Consumer<Map<String, Object>> consumer) {
+        int count = 0;
+        try (JsonParser parser = JsonTree.JSON.createParser(response.asByteArray())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Ответ коллекции не является массивом: " + response.asString());
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                consumer.accept((Map<String, Object>) JsonTree.read(parser, token));
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * Итог обхода коллекции.
+     *
+     * @param api          Путь API коллекции.
+     * @param total        Количество элементов по заголовку {@code X-WP-Total}.
+     * @param totalPages   Количество страниц по заголовку {@code X-WP-TotalPages}.
+     * @param items        Количество полученных элементов.
+     * @param elapsedNanos Длительность обхода, нс.
+     */
+    public record CrawlReport(String api, int total, int totalPages, int items, long elapsedNanos) {
+        /**
+         * Возвращает скорость загрузки страниц.
+         *
+         * @return Страниц в секунду.
+         */
+        public double pagesPerSecond() {
+            return elapsedNanos == 0 ? 0 : totalPages / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * Возвращает скорость получения элементов.
+         *
+         * @return Элементов в секунду.
+         */
+        public double itemsPerSecond() {
+            return elapsedNanos == 0 ? 0 : items / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d из %d элементов, %d страниц за %.2f с (%.1f страниц/с, %.0f элементов/с)",
+                    api, items, total, totalPages, elapsedNanos / 1e9, pagesPerSecond(), itemsPerSecond());
+        }
+    }
+}
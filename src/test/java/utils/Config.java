@@ -2,7 +2,9 @@ package utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 /**
  * Класс для работы с конфигурационными свойствами.
@@ -34,10 +36,30 @@ public class Config {
     }
     /**
      * Получает Property страницы из конфигурационных свойств.
+     * Системное свойство JVM с тем же ключом (-Dkey=value) имеет приоритет над файлом.
      *
      * @return строка, представляющая содержание Property.
      */
     public String getProperty(final String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
+    }
+
+    /**
+     * Получает все свойства, ключи которых начинаются с указанного префикса.
+     * Системные свойства JVM с таким префиксом дополняют и переопределяют свойства из файла.
+     *
+     * @param prefix Префикс ключей, например {@code sla.}.
+     * @return Свойства, отсортированные по ключу.
+     */
+    public Map<String, String> getPropertiesByPrefix(final String prefix) {
+        Map<String, String> result = new TreeMap<>();
+        for (Properties source : new Properties[]{properties, System.getProperties()}) {
+            for (String key : source.stringPropertyNames()) {
+                if (key.startsWith(prefix)) {
+                    result.put(key, source.getProperty(key));
+                }
+            }
+        }
+        return result;
     }
 }
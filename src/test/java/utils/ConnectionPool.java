@@ -0,0 +1,352 @@
+package utils;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный пул JDBC-соединений для тестов, работающих с базой данных.
+ * <p>
+ * Пул заранее открывает соединения при создании, проверяет соединение перед выдачей,
+ * сообщает в {@link RunReport} о соединениях, которые удерживаются дольше таймаута утечки,
+ * и собирает метрики ожидания и выдачи соединений.
+ * Для каждого физического соединения ведется {@link StatementCache}, поэтому
+ * {@code prepareStatement(sql)} с одним и тем же SQL подготавливается на сервере один раз.
+ * Вызов {@link Connection#close()} у выданного соединения возвращает его в пул.
+ * </p>
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long leakTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Lease> leased = new ConcurrentHashMap<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder totalBorrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    /**
+     * Создает пул и заранее открывает все его соединения.
+     *
+     * @param url                      JDBC URL базы данных.
+     * @param user                     Имя пользователя базы данных.
+     * @param password                 Пароль пользователя базы данных.
+     * @param maxSize                  Максимальное количество соединений в пуле.
+     * @param borrowTimeoutMillis      Максимальное время ожидания свободного соединения, мс.
+     * @param leakTimeoutMillis        Время удержания соединения, после которого оно считается утечкой, мс.
+     * @param validationTimeoutSeconds Таймаут проверки соединения перед выдачей, с.
+     * @param statementCacheSize       Количество подготовленных выражений, кэшируемых на одно соединение.
+     * @throws SQLException Если не удалось открыть соединения.
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize, long borrowTimeoutMillis,
+                          long leakTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize) throws SQLException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Размер пула должен быть положительным: " + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakTimeoutMillis = leakTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < maxSize; i++) {
+            idle.offer(openPhysicalConnection());
+        }
+
+        leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(leakTimeoutMillis / 2, 100);
+        leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Создает пул по настройкам {@code db.*} из config.properties.
+     *
+     * @param config Конфигурация тестов.
+     * @return Прогретый пул соединений.
+     * @throws SQLException Если не удалось открыть соединения.
+     */
+    public static ConnectionPool fromConfig(Config config) throws SQLException {
+        return new ConnectionPool(
+                config.getProperty("db.url"),
+                config.getProperty("db.user"),
+                config.getProperty("db.password"),
+                Integer.parseInt(config.getProperty("db.pool.size")),
+                Long.parseLong(config.getProperty("db.pool.borrowTimeout")),
+                Long.parseLong(config.getProperty("db.pool.leakTimeout")),
+                Integer.parseInt(config.getProperty("db.pool.validationTimeout")),
+                Integer.parseInt(config.getProperty("db.statementCache.size")));
+    }
+
+    /**
+     * Выдает соединение из пула, при необходимости ожидая освобождения.
+     * Перед выдачей соединение проверяется; неработающие соединения заменяются новыми.
+     *
+     * @return Соединение, которое возвращается в пул вызовом {@link Connection#close()}.
+     * @throws SQLException Если свободное соединение не появилось за время ожидания.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Пул соединений закрыт.");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Не удалось получить соединение из пула за " + borrowTimeoutMillis + " мс.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Ожидание соединения из пула прервано.", e);
+        }
+        long waited = System.nanoTime() - start;
+
+        Connection physical;
+        try {
+            physical = takeValidConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        Lease lease = new Lease(physical);
+        leased.put(physical, lease);
+
+        long borrowed = System.nanoTime() - start;
+        borrowCount.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        totalBorrowNanos.add(borrowed);
+        maxBorrowNanos.accumulateAndGet(borrowed, Math::max);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, lease);
+    }
+
+    /**
+     * Возвращает снимок текущих метрик пула.
+     *
+     * @return Метрики пула.
+     */
+    public Metrics metrics() {
+        long borrows = borrowCount.sum();
+        return new Metrics(maxSize, leased.size(), idle.size(), borrows, createdCount.sum(),
+                validationFailures.sum(), leaksDetected.sum(),
+                borrows == 0 ? 0 : totalWaitNanos.sum() / borrows, maxWaitNanos.get(),
+                borrows == 0 ? 0 : totalBorrowNanos.sum() / borrows, maxBorrowNanos.get(),
+                statementCacheHits.sum(), statementCacheMisses.sum());
+    }
+
+    /**
+     * Закрывает все свободные соединения пула. Выданные соединения закрываются при возврате.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        leakDetector.shutdownNow();
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            discard(connection);
+        }
+    }
+
+    private Connection takeValidConnection() throws SQLException {
+        Connection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (connection.isValid(validationTimeoutSeconds)) {
+                return connection;
+            }
+            validationFailures.increment();
+            discard(connection);
+        }
+        return openPhysicalConnection();
+    }
+
+    private Connection openPhysicalConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        createdCount.increment();
+        return connection;
+    }
+
+    private void release(Connection physical) {
+        leased.remove(physical);
+        try {
+            if (closed || physical.isClosed()) {
+                discard(physical);
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            idle.offerFirst(physical);
+        } catch (SQLException e) {
+            discard(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void detectLeaks() {
+        long now = System.nanoTime();
+        for (Lease lease : leased.values()) {
+            if (!lease.reported && now - lease.borrowedAt > TimeUnit.MILLISECONDS.toNanos(leakTimeoutMillis)) {
+                lease.reported = true;
+                leaksDetected.increment();
+                StringWriter trace = new StringWriter();
+                lease.borrowTrace.printStackTrace(new PrintWriter(trace));
+                RunReport.attach("Утечка соединения", "Соединение удерживается дольше " + leakTimeoutMillis
+                        + " мс." + System.lineSeparator() + trace);
+            }
+        }
+    }
+
+    private StatementCache statementCache(Connection physical) {
+        return statementCaches.computeIfAbsent(physical,
+                connection -> new StatementCache(connection, statementCacheSize, statementCacheHits, statementCacheMisses));
+    }
+
+    private void discard(Connection connection) {
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null) {
+            cache.close();
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Соединение уже неработоспособно, закрываем его без ошибок.
+        }
+    }
+
+    /**
+     * Выданное соединение: перехватывает {@code close()} и возвращает физическое соединение в пул.
+     */
+    private final class Lease implements InvocationHandler {
+        private final Connection physical;
+        private final long borrowedAt = System.nanoTime();
+        private final Exception borrowTrace = new Exception("Место получения соединения");
+        private volatile boolean returned;
+        private volatile boolean reported;
+
+        private Lease(Connection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Соединение уже возвращено в пул.");
+            }
+            if (method.getName().equals("prepareStatement")) {
+                if (args.length == 1) {
+                    return statementCache(physical).prepare((Connection) proxy, (String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (args.length == 2 && args[1] instanceof Integer autoGeneratedKeys) {
+                    return statementCache(physical).prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+                }
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Снимок метрик пула соединений.
+     *
+     * @param maxSize            Максимальный размер пула.
+     * @param active             Количество выданных соединений.
+     * @param idle               Количество свободных соединений.
+     * @param borrows            Общее количество выдач.
+     * @param created            Количество открытых физических соединений.
+     * @param validationFailures Количество соединений, не прошедших проверку.
+     * @param leaks              Количество обнаруженных утечек.
+     * @param avgWaitNanos       Среднее время ожидания свободного соединения, нс.
+     * @param maxWaitNanos       Максимальное время ожидания свободного соединения, нс.
+     * @param avgBorrowNanos     Средняя длительность выдачи соединения, нс.
+     * @param maxBorrowNanos     Максимальная длительность выдачи соединения, нс.
+     * @param statementCacheHits   Количество выражений, выданных из кэша.
+     * @param statementCacheMisses Количество выражений, подготовленных заново.
+     */
+    public record Metrics(int maxSize, int active, int idle, long borrows, long created, long validationFailures,
+                          long leaks, long avgWaitNanos, long maxWaitNanos, long avgBorrowNanos, long maxBorrowNanos,
+                          long statementCacheHits, long statementCacheMisses) {
+        /**
+         * Форматирует метрики в виде текстового отчета.
+         *
+         * @return Текстовый отчет о состоянии пула.
+         */
+        public String toReport() {
+            return String.format("Размер пула: %d%n"
+                            + "Активные / свободные: %d / %d%n"
+                            + "Выдач: %d, открыто соединений: %d%n"
+                            + "Не прошли проверку: %d, утечек: %d%n"
+                            + "Ожидание, мс: среднее %.3f, максимум %.3f%n"
+                            + "Выдача, мс: среднее %.3f, максимум %.3f%n"
+                            + "Кэш выражений: попаданий %d, подготовок %d%n",
+                    maxSize, active, idle, borrows, created, validationFailures, leaks,
+                    avgWaitNanos / 1e6, maxWaitNanos / 1e6, avgBorrowNanos / 1e6, maxBorrowNanos / 1e6,
+                    statementCacheHits, statementCacheMisses);
+        }
+    }
+}
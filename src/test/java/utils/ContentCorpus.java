@@ -0,0 +1,376 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Модель текстового содержимого постов для генерации данных, похожих на реальные.
+ * <p>
+ * Словарь из псевдослов строится из слогов с фиксированным зерном и не меняется между прогонами,
+ * поэтому стоимость поиска и индексации сравнима от прогона к прогону. Слова выбираются по закону Ципфа:
+ * короткие слова имеют меньший ранг и встречаются чаще. Длины заголовков, постов, отрывков и число
+ * меток задаются логнормальными распределениями {@link LengthDistribution}. Содержимое поста
+ * строится в разметке блоков WordPress: абзацы, подзаголовки и списки.
+ * </p>
+ * <p>
+ * Модель неизменяема и не хранит состояния генерации: случайный источник и буфер передает вызывающий
+ * код, обычно {@link RandomGenerator}, поэтому один экземпляр безопасно разделяется между потоками.
+ * </p>
+ */
+public class ContentCorpus {
+    private static final String[] ONSETS = {"", "b", "c", "d", "f", "g", "h", "k", "l", "m", "n", "p", "r", "s",
+            "t", "v", "w", "br", "ch", "cl", "cr", "dr", "fl", "gr", "pl", "pr", "sh", "st", "th", "tr"};
+    private static final String[] NUCLEI = {"a", "e", "i", "o", "u", "ai", "ea", "ee", "io", "ou", "oa"};
+    private static final String[] CODAS = {"", "", "", "n", "r", "s", "t", "l", "m", "nd", "nt", "st", "ck", "ng"};
+    private static final long VOCABULARY_SEED = 0x5DEECE66DL;
+    private static final Pattern BLOCK_DELIMITER = Pattern.compile("<!-- /?wp:[^>]*-->");
+    private static final String LINK_BASE = "https://example.com/";
+
+    private final char[][] words;
+    private final double[] cumulative;
+    private final LengthDistribution titleWords;
+    private final LengthDistribution postWords;
+    private final LengthDistribution excerptWords;
+    private final LengthDistribution tagsPerPost;
+
+    /**
+     * Создает модель по ключам {@code corpus.*} конфигурации.
+     *
+     * @param config Конфигурация.
+     */
+    public ContentCorpus(Config config) {
+        this(Integer.parseInt(config.getProperty("corpus.vocabularySize")),
+                Double.parseDouble(config.getProperty("corpus.zipfExponent")),
+                LengthDistribution.parse(config.getProperty("corpus.titleWords")),
+                LengthDistribution.parse(config.getProperty("corpus.postWords")),
+                LengthDistribution.parse(config.getProperty("corpus.excerptWords")),
+                LengthDistribution.parse(config.getProperty("corpus.tagsPerPost")));
+    }
+
+    /**
+     * Создает модель с явными параметрами.
+     *
+     * @param vocabularySize Размер словаря.
+     * @param zipfExponent   Показатель закона Ципфа; 1 соответствует естественному языку.
+     * @param titleWords     Распределение числа слов в заголовке.
+     * @param postWords      Распределение числа слов в содержимом поста.
+     * @param excerptWords   Распределение числа слов в отрывке.
+     * @param tagsPerPost    Распределение числа меток поста.
+     */
+    public ContentCorpus(int vocabularySize, double zipfExponent, LengthDistribution titleWords,
+                         LengthDistribution postWords, LengthDistribution excerptWords, LengthDistribution tagsPerPost) {
+        if (vocabularySize < 1) {
+            throw new IllegalArgumentException("Размер словаря должен быть положительным: " + vocabularySize);
+        }
+        this.words = buildVocabulary(vocabularySize);
+        this.cumulative = zipfCumulative(vocabularySize, zipfExponent);
+        this.titleWords = titleWords;
+        this.postWords = postWords;
+        this.excerptWords = excerptWords;
+        this.tagsPerPost = tagsPerPost;
+    }
+
+    /**
+     * Проверяет, записано ли содержимое в разметке блоков.
+     *
+     * @param content Содержимое поста.
+     * @return {@code true}, если в содержимом есть разделители блоков.
+     */
+    public static boolean isBlockMarkup(String content) {
+        return content.contains("<!-- wp:");
+    }
+
+    /**
+     * Удаляет разделители блоков, как это делает WordPress при выводе содержимого.
+     *
+     * @param content Содержимое в разметке блоков.
+     * @return HTML без комментариев-разделителей.
+     */
+    public static String stripBlockDelimiters(String content) {
+        return BLOCK_DELIMITER.matcher(content).replaceAll("");
+    }
+
+    /**
+     * Дописывает заголовок: слова через пробел, первое с заглавной буквы.
+     *
+     * @param random Источник случайности.
+     * @param target Буфер.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendTitle(SplittableRandom random, StringBuilder target) {
+        appendWords(random, target, Math.max(1, titleWords.sample(random)));
+        return target;
+    }
+
+    /**
+     * Дописывает отрывок: одно или несколько предложений без разметки.
+     *
+     * @param random Источник случайности.
+     * @param target Буфер.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendExcerpt(SplittableRandom random, StringBuilder target) {
+        int remaining = Math.max(1, excerptWords.sample(random));
+        boolean first = true;
+        while (remaining > 0) {
+            int length = Math.min(remaining, 6 + random.nextInt(14));
+            if (!first) {
+                target.append(' ');
+            }
+            appendSentence(random, target, length, false);
+            remaining -= length;
+            first = false;
+        }
+        return target;
+    }
+
+    /**
+     * Дописывает содержимое поста в разметке блоков: абзацы с выделениями и ссылками,
+     * подзаголовки не чаще чем через три абзаца и маркированные списки.
+     *
+     * @param random Источник случайности.
+     * @param target Буфер; для постов в несколько КБ его стоит переиспользовать.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendContent(SplittableRandom random, StringBuilder target) {
+        int remaining = Math.max(1, postWords.sample(random));
+        int paragraphsSinceHeading = 0;
+        boolean first = true;
+        while (remaining > 0) {
+            if (!first) {
+                target.append("\n\n");
+            }
+            if (!first && paragraphsSinceHeading >= 3 && random.nextInt(3) == 0) {
+                int length = Math.min(remaining, 2 + random.nextInt(5));
+                target.append("<!-- wp:heading -->\n<h2 class=\"wp-block-heading\">");
+                appendWords(random, target, length);
+                target.append("</h2>\n<!-- /wp:heading -->");
+                remaining -= length;
+                paragraphsSinceHeading = 0;
+            } else if (!first && random.nextInt(10) == 0) {
+                remaining -= appendList(random, target, remaining);
+            } else {
+                remaining -= appendParagraph(random, target, remaining);
+                paragraphsSinceHeading++;
+            }
+            first = false;
+        }
+        return target;
+    }
+
+    /**
+     * Дописывает ярлык заголовка как {@code sanitize_title}: нижний регистр, пробелы заменяются дефисом.
+     *
+     * @param title     Заголовок.
+     * @param target    Буфер.
+     * @param maxLength Максимальная длина ярлыка; обрезается по границе слова, если это возможно.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendSlug(CharSequence title, StringBuilder target, int maxLength) {
+        int start = target.length();
+        for (int i = 0; i < title.length(); i++) {
+            char c = title.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                target.append(Character.toLowerCase(c));
+            } else if (Character.isWhitespace(c) && target.length() > start && target.charAt(target.length() - 1) != '-') {
+                target.append('-');
+            }
+        }
+        if (target.length() > start && target.charAt(target.length() - 1) == '-') {
+            target.setLength(target.length() - 1);
+        }
+        if (target.length() - start > maxLength) {
+            int boundary = target.lastIndexOf("-", start + maxLength);
+            target.setLength(boundary > start ? boundary : start + maxLength);
+        }
+        return target;
+    }
+
+    /**
+     * Выбирает число меток поста.
+     *
+     * @param random Источник случайности.
+     * @return Число меток.
+     */
+    public int sampleTagCount(SplittableRandom random) {
+        return tagsPerPost.sample(random);
+    }
+
+    private int appendParagraph(SplittableRandom random, StringBuilder target, int remaining) {
+        int budget = Math.min(remaining, 20 + random.nextInt(100));
+        int written = 0;
+        target.append("<!-- wp:paragraph -->\n<p>");
+        while (written < budget) {
+            int length = Math.min(budget - written, 6 + random.nextInt(19));
+            if (written > 0) {
+                target.append(' ');
+            }
+            appendSentence(random, target, length, true);
+            written += length;
+        }
+        target.append("</p>\n<!-- /wp:paragraph -->");
+        return written;
+    }
+
+    private int appendList(SplittableRandom random, StringBuilder target, int remaining) {
+        int items = 3 + random.nextInt(4);
+        int written = 0;
+        target.append("<!-- wp:list -->\n<ul class=\"wp-block-list\">");
+        for (int i = 0; i < items && written < remaining; i++) {
+            int length = Math.min(remaining - written, 2 + random.nextInt(9));
+            if (i > 0) {
+                target.append("\n\n");
+            }
+            target.append("<!-- wp:list-item -->\n<li>");
+            appendWords(random, target, length);
+            target.append("</li>\n<!-- /wp:list-item -->");
+            written += length;
+        }
+        target.append("</ul>\n<!-- /wp:list -->");
+        return written;
+    }
+
+    /**
+     * Дописывает предложение с заглавной буквы и точкой; в абзацах часть слов выделяется или становится ссылкой.
+     */
+    private void appendSentence(SplittableRandom random, StringBuilder target, int length, boolean inline) {
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                target.append(i < length - 1 && random.nextInt(12) == 0 ? ", " : " ");
+            }
+            char[] word = nextWord(random);
+            int decoration = inline ? random.nextInt(64) : -1;
+            if (decoration == 0) {
+                target.append("<a href=\"").append(LINK_BASE).append(word).append("\">");
+            } else if (decoration == 1) {
+                target.append("<strong>");
+            } else if (decoration == 2) {
+                target.append("<em>");
+            }
+            int start = target.length();
+            target.append(word);
+            if (i == 0) {
+                target.setCharAt(start, Character.toUpperCase(word[0]));
+            }
+            if (decoration == 0) {
+                target.append("</a>");
+            } else if (decoration == 1) {
+                target.append("</strong>");
+            } else if (decoration == 2) {
+                target.append("</em>");
+            }
+        }
+        target.append('.');
+    }
+
+    private void appendWords(SplittableRandom random, StringBuilder target, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                target.append(' ');
+            }
+            char[] word = nextWord(random);
+            int start = target.length();
+            target.append(word);
+            if (i == 0) {
+                target.setCharAt(start, Character.toUpperCase(word[0]));
+            }
+        }
+    }
+
+    private char[] nextWord(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return words[Math.min(index, words.length - 1)];
+    }
+
+    /**
+     * Строит словарь из случайных сочетаний слогов и упорядочивает его по длине слов:
+     * чем короче слово, тем меньше его ранг и тем чаще оно встречается.
+     */
+    private static char[][] buildVocabulary(int size) {
+        SplittableRandom random = new SplittableRandom(VOCABULARY_SEED);
+        Set<String> unique = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder(16);
+        while (unique.size() < size) {
+            word.setLength(0);
+            int roll = random.nextInt(20);
+            int syllables = roll < 5 ? 1 : roll < 13 ? 2 : roll < 18 ? 3 : 4;
+            for (int i = 0; i < syllables; i++) {
+                word.append(ONSETS[random.nextInt(ONSETS.length)])
+                        .append(NUCLEI[random.nextInt(NUCLEI.length)])
+                        .append(CODAS[random.nextInt(CODAS.length)]);
+            }
+            unique.add(word.toString());
+        }
+        List<String> sorted = new ArrayList<>(unique);
+        sorted.sort(Comparator.comparingInt(String::length));
+        char[][] result = new char[size][];
+        for (int i = 0; i < size; i++) {
+            result[i] = sorted.get(i).toCharArray();
+        }
+        return result;
+    }
+
+    /**
+     * Накопленные вероятности рангов 1..n с весами {@code 1 / rank^exponent}.
+     */
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] result = new double[size];
+        double sum = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            result[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            result[i] /= sum;
+        }
+        result[size - 1] = 1;
+        return result;
+    }
+
+    /**
+     * Логнормальное распределение целой длины с ограничениями.
+     * Длины текстов в блогах сильно скошены вправо: большинство постов короткие, но заметная доля
+     * занимает несколько КБ, поэтому задаются медиана и разброс логарифма, а не среднее.
+     *
+     * @param median Медиана.
+     * @param sigma  Стандартное отклонение натурального логарифма длины; 0 дает постоянную длину.
+     * @param min    Минимальное значение.
+     * @param max    Максимальное значение.
+     */
+    public record LengthDistribution(double median, double sigma, int min, int max) {
+        /**
+         * Разбирает значение вида {@code медиана,сигма,минимум,максимум}.
+         *
+         * @param value Строка с параметрами.
+         * @return Распределение.
+         */
+        public static LengthDistribution parse(String value) {
+            String[] parts = value.split(",");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Ожидается медиана,сигма,минимум,максимум: " + value);
+            }
+            return new LengthDistribution(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Integer.parseInt(parts[2].trim()), Integer.parseInt(parts[3].trim()));
+        }
+
+        /**
+         * Выбирает значение.
+         *
+         * @param random Источник случайности.
+         * @return Значение в пределах {@code [min, max]}.
+         */
+        public int sample(SplittableRandom random) {
+            long value = Math.round(median * Math.exp(sigma * random.nextGaussian()));
+            return (int) Math.max(min, Math.min(max, value));
+        }
+    }
+}
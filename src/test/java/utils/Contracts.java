@@ -0,0 +1,272 @@
+package utils;
+
+import org.hamcrest.Matcher;
+
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.equalToCompressingWhiteSpace;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Контракты ответов WordPress REST API для пользователей, постов, меток и ошибок.
+ * <p>
+ * Контракты собираются один раз и переиспользуются тестами и нагрузочными сценариями;
+ * ожидаемые значения конкретного запроса передаются при проверке.
+ * </p>
+ */
+public final class Contracts {
+    private static final String SITE = "http://localhost:8000/";
+    private static final String GRAVATAR = "https://secure.gravatar.com/avatar";
+
+    /**
+     * Пользователь в представлении {@code view}.
+     */
+    public static final ResponseContract<User> USER = ResponseContract.<User>builder()
+            .body("id", user -> equalTo(user.id()))
+            .body("name", user -> equalTo(user.username()))
+            .body("description", user -> equalTo(user.description()))
+            .body("url", notNullValue())
+            .body("link", user -> equalTo(SITE + "?author=" + user.id()))
+            .body("slug", user -> equalTo(user.username().toLowerCase()))
+            .body("avatar_urls.24", startsWith(GRAVATAR))
+            .body("avatar_urls.48", startsWith(GRAVATAR))
+            .body("avatar_urls.96", startsWith(GRAVATAR))
+            .body("_links.self[0].href", user -> endsWith("/wp/v2/users/" + user.id()))
+            .body("_links.collection[0].href", endsWith("/wp/v2/users"))
+            .build();
+
+    /**
+     * Пользователь-подписчик в представлении {@code edit}, возвращаемый после обновления.
+     */
+    public static final ResponseContract<User> USER_EDIT = ResponseContract.<User>builder()
+            .body("description", user -> equalTo(user.description()))
+            .body("id", user -> equalTo(user.id()))
+            .body("username", user -> equalTo(user.username()))
+            .body("name", user -> equalTo(user.username()))
+            .body("first_name", notNullValue())
+            .body("last_name", notNullValue())
+            .body("link", user -> startsWith(SITE + "?author=" + user.id()))
+            .body("email", user -> equalTo(user.email()))
+            .body("locale", startsWith("ru_RU"))
+            .body("nickname", user -> equalTo(user.username()))
+            .body("roles[0]", equalTo("subscriber"))
+            .body("registered_date", notNullValue())
+            .body("roles", hasItem("subscriber"))
+            .body("_links.self[0].href", user -> endsWith("/wp/v2/users/" + user.id()))
+            .body("_links.collection[0].href", endsWith("/wp/v2/users"))
+            .body("capabilities.read", equalTo(true))
+            .body("capabilities.level_0", equalTo(true))
+            .body("capabilities.subscriber", equalTo(true))
+            .body("extra_capabilities.subscriber", equalTo(true))
+            .body("avatar_urls.96", startsWith("https://secure.gravatar.com"))
+            .build();
+
+    /**
+     * Ответ на удаление пользователя-подписчика.
+     */
+    public static final ResponseContract<User> USER_DELETED = ResponseContract.<User>builder()
+            .body("deleted", equalTo(true))
+            .body("previous.id", user -> equalTo(user.id()))
+            .body("previous.username", user -> equalTo(user.username()))
+            .body("previous.name", user -> equalTo(user.username()))
+            .body("previous.description", user -> equalTo(user.description()))
+            .body("previous.url", notNullValue())
+            .body("previous.link", user -> startsWith(SITE + "?author=" + user.id()))
+            .body("previous.slug", user -> equalTo(user.username().toLowerCase()))
+            .body("previous.roles", hasItem("subscriber"))
+            .body("previous.registered_date", notNullValue())
+            .body("previous.capabilities.read", equalTo(true))
+            .body("previous.capabilities.level_0", equalTo(true))
+            .body("previous.capabilities.subscriber", equalTo(true))
+            .body("previous.extra_capabilities.subscriber", equalTo(true))
+            .body("previous.avatar_urls.24", startsWith(GRAVATAR))
+            .body("previous.avatar_urls.48", startsWith(GRAVATAR))
+            .body("previous.avatar_urls.96", startsWith(GRAVATAR))
+            .build();
+
+    /**
+     * Текущий пользователь ({@code users/me}) в представлении {@code view}.
+     */
+    public static final ResponseContract<User> CURRENT_USER = ResponseContract.<User>builder()
+            .body("id", user -> equalTo(user.id()))
+            .body("name", user -> equalTo(user.username()))
+            .body("description", notNullValue())
+            .body("url", notNullValue())
+            .body("link", user -> startsWith(SITE + "?author=" + user.id()))
+            .body("slug", user -> equalTo(user.username().toLowerCase().replace(" ", "").replace(".", "-")))
+            .body("avatar_urls.24", startsWith(GRAVATAR))
+            .body("avatar_urls.48", startsWith(GRAVATAR))
+            .body("avatar_urls.96", startsWith(GRAVATAR))
+            .body("_links.self[0].href", user -> endsWith("/wp/v2/users/" + user.id()))
+            .body("_links.collection[0].href", endsWith("/wp/v2/users"))
+            .build();
+
+    /**
+     * Текущий пользователь-администратор ({@code users/me}) после обновления.
+     */
+    public static final ResponseContract<User> CURRENT_USER_EDIT = ResponseContract.<User>builder()
+            .body("description", user -> equalTo(user.description()))
+            .body("id", user -> equalTo(user.id()))
+            .body("username", user -> equalTo(user.username()))
+            .body("name", user -> equalTo(user.username()))
+            .body("first_name", notNullValue())
+            .body("last_name", notNullValue())
+            .body("link", user -> startsWith(SITE + "?author=" + user.id()))
+            .body("email", user -> equalTo(user.email()))
+            .body("locale", startsWith("ru_RU"))
+            .body("nickname", user -> equalTo(user.username()))
+            .body("roles[0]", equalTo("administrator"))
+            .body("registered_date", notNullValue())
+            .body("_links.self[0].href", user -> endsWith("/wp/v2/users/" + user.id()))
+            .body("_links.collection[0].href", endsWith("/wp/v2/users"))
+            .body("capabilities", notNullValue())
+            .body("meta", notNullValue())
+            .body("avatar_urls", notNullValue())
+            .build();
+
+    /**
+     * Пост в представлении {@code view}.
+     */
+    public static final ResponseContract<Post> POST = postContract(false);
+
+    /**
+     * Пост в представлении {@code edit}, возвращаемый после обновления или удаления.
+     */
+    public static final ResponseContract<Post> POST_EDIT = postContract(true);
+
+    /**
+     * Метка.
+     */
+    public static final ResponseContract<Tag> TAG = ResponseContract.<Tag>builder()
+            .body("id", tag -> equalTo(tag.id()))
+            .body("count", notNullValue())
+            .body("name", tag -> equalTo(tag.name()))
+            .body("description", tag -> equalTo(tag.description()))
+            .body("taxonomy", equalTo("post_tag"))
+            .body("link", tag -> startsWith(SITE + "?tag=" + tag.slug()))
+            .body("slug", tag -> equalTo(tag.slug()))
+            .body("meta", notNullValue())
+            .body("_links.self[0].href", tag -> endsWith("/wp/v2/tags/" + tag.id()))
+            .body("_links.collection[0].href", endsWith("/wp/v2/tags"))
+            .body("_links.about[0].href", endsWith("/wp/v2/taxonomies/post_tag"))
+            .body("_links.\"wp:post_type\"[0].href",
+                    tag -> startsWith(SITE + "index.php?rest_route=%2Fwp%2Fv2%2Fposts&tags=" + tag.id()))
+            .body("_links.curies", notNullValue())
+            .build();
+
+    /**
+     * Ответ на удаление метки.
+     */
+    public static final ResponseContract<Tag> TAG_DELETED = ResponseContract.<Tag>builder()
+            .body("deleted", equalTo(true))
+            .body("previous.id", tag -> equalTo(tag.id()))
+            .body("previous.count", notNullValue())
+            .body("previous.description", notNullValue())
+            .body("previous.taxonomy", equalTo("post_tag"))
+            .body("previous.link", tag -> startsWith(SITE + "?tag=" + tag.slug()))
+            .body("previous.slug", tag -> equalTo(tag.slug()))
+            .body("previous.meta", notNullValue())
+            .build();
+
+    /**
+     * Ошибка REST API.
+     */
+    public static final ResponseContract<ApiError> ERROR = ResponseContract.<ApiError>builder()
+            .body("code", error -> equalTo(error.code()))
+            .body("message", error -> equalTo(error.message()))
+            .body("data.status", error -> equalTo(error.status()))
+            .build();
+
+    private Contracts() {
+    }
+
+    /**
+     * Текст без разметки WordPress оборачивает в абзац. Из разметки блоков при выводе вырезаются
+     * разделители, а переводы строк между блоками зависят от версии, поэтому пробелы не сравниваются.
+     */
+    private static Matcher<?> renderedContent(String content) {
+        if (ContentCorpus.isBlockMarkup(content)) {
+            return equalToCompressingWhiteSpace(ContentCorpus.stripBlockDelimiters(content));
+        }
+        return equalTo("<p>" + content + "</p>\n");
+    }
+
+    private static ResponseContract<Post> postContract(boolean edit) {
+        ResponseContract.Builder<Post> builder = ResponseContract.<Post>builder()
+                .body("id", post -> equalTo(post.id()))
+                .body("date", notNullValue())
+                .body("date_gmt", notNullValue())
+                .body("guid.rendered", post -> equalTo(SITE + "?p=" + post.id()))
+                .body("modified", notNullValue())
+                .body("modified_gmt", notNullValue())
+                .body("status", post -> equalTo(post.status()))
+                .body("type", equalTo("post"))
+                .body("title.rendered", post -> equalTo(post.title()))
+                .body("link", post -> equalTo(SITE + "?p=" + post.id()))
+                .body("content.rendered", post -> renderedContent(post.content()))
+                .body("author", notNullValue())
+                .body("comment_status", equalTo("open"))
+                .body("ping_status", equalTo("open"))
+                .body("sticky", equalTo(false))
+                .body("template", equalTo(""))
+                .body("format", equalTo("standard"))
+                .body("meta", notNullValue())
+                .body("categories", hasSize(1))
+                .body("tags", empty())
+                .body("class_list", post -> hasItem("post-" + post.id()))
+                .body("_links", notNullValue());
+        if (edit) {
+            builder.body("title.raw", post -> equalTo(post.title()))
+                    .body("content.raw", post -> equalTo(post.content()))
+                    .body("featured_media", notNullValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Ожидаемые значения пользователя.
+     *
+     * @param id          ID пользователя.
+     * @param username    Имя пользователя.
+     * @param description Описание.
+     * @param email       Email.
+     */
+    public record User(int id, String username, String description, String email) {
+    }
+
+    /**
+     * Ожидаемые значения поста.
+     *
+     * @param id      ID поста.
+     * @param title   Заголовок.
+     * @param content Содержимое: текст без разметки или разметка блоков.
+     * @param status  Статус.
+     */
+    public record Post(int id, String title, String content, String status) {
+    }
+
+    /**
+     * Ожидаемые значения метки.
+     *
+     * @param id          ID метки.
+     * @param name        Название.
+     * @param slug        Ярлык.
+     * @param description Описание.
+     */
+    public record Tag(int id, String name, String slug, String description) {
+    }
+
+    /**
+     * Ожидаемые значения ошибки.
+     *
+     * @param code    Код ошибки.
+     * @param message Сообщение.
+     * @param status  HTTP-статус в {@code data.status}.
+     */
+    public record ApiError(String code, String message, int status) {
+    }
+}
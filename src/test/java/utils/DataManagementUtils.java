@@ -1,12 +1,36 @@
 package utils;
 
 import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Утилиты для управления базой данных, включая создание и удаление пользователей, постов и тегов.
  */
 public class DataManagementUtils {
+    private static final String INSERT_USER_QUERY = "INSERT INTO wp_users (user_login, user_pass, user_nicename, " +
+            "user_email, user_url, user_registered, user_activation_key, user_status, display_name) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_POST_QUERY = "INSERT INTO wp_posts (post_author, post_date, post_date_gmt, " +
+            "post_content, post_title, post_excerpt, post_status, comment_status, ping_status, post_password, " +
+            "post_name, to_ping, pinged, post_modified, post_modified_gmt, post_content_filtered, post_parent, guid, " +
+            "menu_order, post_type, post_mime_type, comment_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TERM_QUERY = "INSERT INTO wp_terms (name, slug, term_group) VALUES (?, ?, ?)";
+    private static final String INSERT_TAG_TAXONOMY_QUERY = "INSERT INTO wp_term_taxonomy (term_id, taxonomy, " +
+            "description, parent, count) VALUES (?, 'post_tag', '', 0, 0)";
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private final Connection connection;
+    private final EntityDao entityDao;
+    private int batchSize = DEFAULT_BATCH_SIZE;
     /**
      * Конструктор для инициализации объекта управления данными с заданным соединением.
      *
@@ -14,6 +38,19 @@ public class DataManagementUtils {
      */
     public DataManagementUtils(Connection connection) {
         this.connection = connection;
+        this.entityDao = new EntityDao(connection);
+    }
+
+    /**
+     * Задает количество строк, отправляемых в одном пакете пакетной вставки.
+     *
+     * @param batchSize Размер пакета.
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным: " + batchSize);
+        }
+        this.batchSize = batchSize;
     }
 
     /**
@@ -33,19 +70,9 @@ public class DataManagementUtils {
      */
     public int createUserGetId(String userLogin, String userPass, String userNiceName, String userEmail, String userUrl,
                                Date userRegistered, String userActivationKey, int userStatus, String displayName) throws SQLException {
-        String insertQuery = "INSERT INTO wp_users (user_login, user_pass, user_nicename, user_email, " +
-                "user_url, user_registered, user_activation_key, user_status, display_name) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement insertStatement = connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)) {
-            insertStatement.setString(1, userLogin);
-            insertStatement.setString(2, userPass);
-            insertStatement.setString(3, userNiceName);
-            insertStatement.setString(4, userEmail);
-            insertStatement.setString(5, userUrl);
-            insertStatement.setDate(6, userRegistered);
-            insertStatement.setString(7, userActivationKey);
-            insertStatement.setInt(8, userStatus);
-            insertStatement.setString(9, displayName);
+        try (PreparedStatement insertStatement = connection.prepareStatement(INSERT_USER_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindUser(insertStatement, new UserData(userLogin, userPass, userNiceName, userEmail, userUrl,
+                    userRegistered, userActivationKey, userStatus, displayName));
 
             insertStatement.executeUpdate();
 
@@ -90,33 +117,11 @@ public class DataManagementUtils {
                                String postPassword, String postName, String toPing, String pinged, Timestamp postModified,
                                Timestamp postModifiedGmt, String postContentFiltered, long postParent, String guid,
                                int menuOrder, String postType, String postMimeType, long commentCount) throws SQLException {
-        String query = "INSERT INTO wp_posts (post_author, post_date, post_date_gmt, post_content, post_title, " +
-                "post_excerpt, post_status, comment_status, ping_status, post_password, post_name, to_ping, pinged, " +
-                "post_modified, post_modified_gmt, post_content_filtered, post_parent, guid, menu_order, post_type, " +
-                "post_mime_type, comment_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setLong(1, postAuthor);
-            stmt.setTimestamp(2, postDate);
-            stmt.setTimestamp(3, postDateGmt);
-            stmt.setString(4, postContent);
-            stmt.setString(5, postTitle);
-            stmt.setString(6, postExcerpt);
-            stmt.setString(7, postStatus);
-            stmt.setString(8, commentStatus);
-            stmt.setString(9, pingStatus);
-            stmt.setString(10, postPassword);
-            stmt.setString(11, postName);
-            stmt.setString(12, toPing);
-            stmt.setString(13, pinged);
-            stmt.setTimestamp(14, postModified);
-            stmt.setTimestamp(15, postModifiedGmt);
-            stmt.setString(16, postContentFiltered);
-            stmt.setLong(17, postParent);
-            stmt.setString(18, guid);
-            stmt.setInt(19, menuOrder);
-            stmt.setString(20, postType);
-            stmt.setString(21, postMimeType);
-            stmt.setLong(22, commentCount);
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_POST_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindPost(stmt, new PostData(postAuthor, postDate, postDateGmt, postContent, postTitle, postExcerpt,
+                    postStatus, commentStatus, pingStatus, postPassword, postName, toPing, pinged, postModified,
+                    postModifiedGmt, postContentFiltered, postParent, guid, menuOrder, postType, postMimeType,
+                    commentCount));
             stmt.executeUpdate();
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
@@ -137,12 +142,8 @@ public class DataManagementUtils {
      * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
      */
     public int createTermGetId(String termName, String termSlug, long termGroup) throws SQLException {
-
-        String query = "INSERT INTO wp_terms (name, slug, term_group) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setString(1, termName);
-            stmt.setString(2, termSlug);
-            stmt.setLong(3, termGroup);
+        try (PreparedStatement stmt = connection.prepareStatement(INSERT_TERM_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+            bindTerm(stmt, new TermData(termName, termSlug, termGroup));
 
             stmt.executeUpdate();
 
@@ -155,19 +156,217 @@ public class DataManagementUtils {
         throw new SQLException("Не удалось получить сгенерированный ID для нового тега.");
     }
 
+    /**
+     * Создает пользователей пакетной вставкой и возвращает их ID в порядке списка.
+     *
+     * @param users Данные пользователей.
+     * @return ID созданных пользователей.
+     * @throws SQLException Если что-то пошло не так при выполнении SQL-запроса.
+     */
+    public int[] createUsers(List<UserData> users) throws SQLException {
+        return insertInBatches(INSERT_USER_QUERY, users, DataManagementUtils::bindUser);
+    }
+
+    /**
+     * Создает посты пакетной вставкой и возвращает их ID в порядке списка.
+     *
+     * @param posts Данные постов.
+     * @return ID созданных постов.
+     * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
+     */
+    public int[] createPosts(List<PostData> posts) throws SQLException {
+        return insertInBatches(INSERT_POST_QUERY, posts, DataManagementUtils::bindPost);
+    }
+
+    /**
+     * Создает теги пакетной вставкой и возвращает их ID в порядке списка.
+     *
+     * @param terms Данные тегов.
+     * @return ID созданных тегов.
+     * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
+     */
+    public int[] createTerms(List<TermData> terms) throws SQLException {
+        return insertInBatches(INSERT_TERM_QUERY, terms, DataManagementUtils::bindTerm);
+    }
+
+    /**
+     * Регистрирует теги как метки записей (таксономия {@code post_tag}).
+     *
+     * @param termIds ID тегов в wp_terms.
+     * @return ID записей таксономии в порядке списка.
+     * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
+     */
+    public int[] createTagTaxonomies(int[] termIds) throws SQLException {
+        return insertInBatches(INSERT_TAG_TAXONOMY_QUERY, Arrays.stream(termIds).boxed().toList(),
+                (stmt, termId) -> stmt.setInt(1, termId));
+    }
+
+    /**
+     * Привязывает метки к посту и увеличивает их счетчики записей, как это делает WordPress.
+     *
+     * @param postId          ID поста.
+     * @param termTaxonomyIds ID записей таксономии меток.
+     * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
+     */
+    public void tagPost(int postId, int[] termTaxonomyIds) throws SQLException {
+        if (termTaxonomyIds.length == 0) {
+            return;
+        }
+        try (PreparedStatement relationship = connection.prepareStatement(
+                "INSERT INTO wp_term_relationships (object_id, term_taxonomy_id, term_order) VALUES (?, ?, 0)");
+             PreparedStatement count = connection.prepareStatement(
+                     "UPDATE wp_term_taxonomy SET count = count + 1 WHERE term_taxonomy_id = ?")) {
+            for (int termTaxonomyId : termTaxonomyIds) {
+                relationship.setInt(1, postId);
+                relationship.setInt(2, termTaxonomyId);
+                relationship.addBatch();
+                count.setInt(1, termTaxonomyId);
+                count.addBatch();
+            }
+            relationship.executeBatch();
+            count.executeBatch();
+        }
+    }
+
+    /**
+     * Считает метки, привязанные к посту.
+     *
+     * @param postId ID поста.
+     * @return Количество меток.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public int countPostTags(int postId) throws SQLException {
+        String countQuery = "SELECT COUNT(*) FROM wp_term_relationships r JOIN wp_term_taxonomy t " +
+                "ON t.term_taxonomy_id = r.term_taxonomy_id WHERE r.object_id = ? AND t.taxonomy = 'post_tag'";
+        try (PreparedStatement countStatement = connection.prepareStatement(countQuery)) {
+            countStatement.setInt(1, postId);
+            try (ResultSet resultSet = countStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Удаляет привязки меток к посту и записи таксономии меток.
+     *
+     * @param postId          ID поста.
+     * @param termTaxonomyIds ID записей таксономии меток.
+     * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
+     */
+    public void deletePostTags(int postId, int[] termTaxonomyIds) throws SQLException {
+        try (PreparedStatement relationships = connection.prepareStatement(
+                "DELETE FROM wp_term_relationships WHERE object_id = ?");
+             PreparedStatement taxonomy = connection.prepareStatement(
+                     "DELETE FROM wp_term_taxonomy WHERE term_taxonomy_id = ?")) {
+            relationships.setInt(1, postId);
+            relationships.executeUpdate();
+            for (int termTaxonomyId : termTaxonomyIds) {
+                taxonomy.setInt(1, termTaxonomyId);
+                taxonomy.addBatch();
+            }
+            taxonomy.executeBatch();
+        }
+    }
+
     /**
      * Получает запись тега из базы данных по его ID.
      *
      * @param id ID тега для выбора.
-     * @return ResultSet содержащий данные тега.
+     * @return Результат запроса с данными тега; закрывает свое выражение при закрытии.
      * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
      */
-    public ResultSet selectTermFromDBByID(int id) throws SQLException {
+    public QueryResult selectTermFromDBByID(int id) throws SQLException {
         String selectQuery = "SELECT * FROM wp_terms WHERE term_id = ?";
         PreparedStatement selectStatement = connection.prepareStatement(selectQuery);
         selectStatement.setInt(1, id);
 
-        return selectStatement.executeQuery();
+        return new QueryResult(selectStatement);
+    }
+
+    /**
+     * Получает тег по его ID в виде типизированной строки.
+     *
+     * @param id ID тега.
+     * @return Тег или пустой Optional, если тега нет.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public Optional<TermRow> selectTermById(int id) throws SQLException {
+        return selectOne("SELECT * FROM wp_terms WHERE term_id = ?", id, TermRow.MAPPER);
+    }
+
+    /**
+     * Получает пользователя по его ID в виде типизированной строки.
+     *
+     * @param id ID пользователя.
+     * @return Пользователь или пустой Optional, если пользователя нет.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public Optional<UserRow> selectUserById(int id) throws SQLException {
+        return selectOne("SELECT * FROM wp_users WHERE ID = ?", id, UserRow.MAPPER);
+    }
+
+    /**
+     * Получает пост по его ID в виде типизированной строки.
+     *
+     * @param id ID поста.
+     * @return Пост или пустой Optional, если поста нет.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public Optional<PostRow> selectPostById(int id) throws SQLException {
+        return selectOne("SELECT * FROM wp_posts WHERE ID = ?", id, PostRow.MAPPER);
+    }
+
+    /**
+     * Возвращает все посты с ID больше заданного в порядке возрастания ID.
+     * <p>
+     * Строки читаются серверным курсором порциями по {@value #STREAM_FETCH_SIZE}
+     * (требует {@code useCursorFetch=true} в JDBC URL), поэтому память не зависит от размера таблицы.
+     * Поток нужно закрыть, например через try-with-resources.
+     * </p>
+     *
+     * @param afterId ID, после которого начинается чтение.
+     * @return Поток постов.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public Stream<PostRow> streamPosts(int afterId) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT * FROM wp_posts WHERE ID > ? ORDER BY ID",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ResultSet resultSet;
+        RowMapper<PostRow> mapper;
+        try {
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setInt(1, afterId);
+            resultSet = statement.executeQuery();
+            mapper = PostRow.MAPPER.bind(resultSet);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+
+        Spliterator<PostRow> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super PostRow> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.mapRow(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Ошибка чтения поста из базы данных.", e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(() -> {
+            try {
+                resultSet.close();
+                statement.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Ошибка при закрытии потока постов.", e);
+            }
+        });
     }
 
     /**
@@ -187,23 +386,20 @@ public class DataManagementUtils {
     }
 
     /**
-     * Получает запись из базы данных по её ID.
+     * Получает запись из базы данных по её первичному ключу.
      *
      * @param id        ID записи для выбора.
      * @param tableName Имя таблицы, из которой нужно выбрать запись.
-     * @return ResultSet содержащий данные записи.
+     * @return Результат запроса с данными записи; закрывает свое выражение при закрытии.
      * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
      */
-    public ResultSet selectEntityFromDBByID(int id, String tableName) throws SQLException {
-        String selectQuery = "SELECT * FROM " + tableName + " WHERE ID = ?";
-        PreparedStatement selectStatement = connection.prepareStatement(selectQuery);
-        selectStatement.setInt(1, id);
-
-        return selectStatement.executeQuery();
+    public QueryResult selectEntityFromDBByID(int id, String tableName) throws SQLException {
+        return entityDao.selectById(tableName, id);
     }
 
     /**
-     * Обновляет запись в базе данных по её ID.
+     * Обновляет запись в базе данных по её первичному ключу.
+     * Значение привязывается с JDBC-типом столбца; неизвестные таблицы и столбцы отклоняются.
      *
      * @param termId          ID записи, которую нужно обновить.
      * @param tableName       Имя таблицы, в которой нужно обновить запись.
@@ -212,12 +408,7 @@ public class DataManagementUtils {
      * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
      */
     public void updateEntityByID(int termId, String tableName, String variable, String updatedVariable) throws SQLException {
-        String updateQuery = "UPDATE " + tableName + " SET " + variable + " = ? WHERE ID = ?";
-        try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery)) {
-            updateStatement.setString(1, updatedVariable);
-            updateStatement.setInt(2, termId);
-            updateStatement.executeUpdate();
-        }
+        entityDao.updateById(tableName, termId, variable, updatedVariable);
     }
 
     /**
@@ -228,33 +419,18 @@ public class DataManagementUtils {
      * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
      */
     public Long countEntityInDB(String tableName) throws SQLException {
-        String countQuery = "SELECT COUNT(*) FROM " + tableName;
-        PreparedStatement countStatement = connection.prepareStatement(countQuery);
-        ResultSet resultSet = countStatement.executeQuery();
-
-        Long count = null;
-        if (resultSet.next()) {
-            count = resultSet.getLong(1);
-        }
-
-        resultSet.close();
-        countStatement.close();
-        return count;
+        return entityDao.count(tableName);
     }
 
     /**
-     * Удаляет запись из базы данных по его ID.
+     * Удаляет запись из базы данных по её первичному ключу.
      *
      * @param id ID записи.
      * @param tableName Имя таблицы, из которой нужно удалить запись.
      * @throws SQLException Если возникает ошибка во время выполнения SQL-запроса.
      */
     public void deleteEntityById(int id, String tableName) throws SQLException {
-        String deleteQuery = "DELETE FROM " + tableName + " WHERE ID = ?";
-        try (PreparedStatement deleteStatement = connection.prepareStatement(deleteQuery)) {
-            deleteStatement.setInt(1, id);
-            deleteStatement.executeUpdate();
-        }
+        entityDao.deleteById(tableName, id);
     }
     /**
      * Удаляет тег из базы данных по его ID.
@@ -269,4 +445,93 @@ public class DataManagementUtils {
             deleteStatement.executeUpdate();
         }
     }
+
+    private <T> Optional<T> selectOne(String query, int id, RowMapper.Factory<T> mapperFactory) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(mapperFactory.bind(resultSet).mapRow(resultSet));
+            }
+        }
+    }
+
+    /**
+     * Вставляет строки пакетами по {@code batchSize} и собирает сгенерированные ключи.
+     * При {@code rewriteBatchedStatements=true} каждый пакет отправляется одним многострочным INSERT.
+     */
+    private <T> int[] insertInBatches(String query, List<T> rows, ParameterBinder<T> binder) throws SQLException {
+        int[] ids = new int[rows.size()];
+        int filled = 0;
+        try (PreparedStatement stmt = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < rows.size(); start += batchSize) {
+                int end = Math.min(start + batchSize, rows.size());
+                for (T row : rows.subList(start, end)) {
+                    binder.bind(stmt, row);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    while (filled < end && generatedKeys.next()) {
+                        ids[filled++] = generatedKeys.getInt(1);
+                    }
+                }
+                if (filled != end) {
+                    throw new SQLException("Получено " + filled + " сгенерированных ID вместо " + end + ".");
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void bindUser(PreparedStatement stmt, UserData user) throws SQLException {
+        stmt.setString(1, user.userLogin());
+        stmt.setString(2, user.userPass());
+        stmt.setString(3, user.userNiceName());
+        stmt.setString(4, user.userEmail());
+        stmt.setString(5, user.userUrl());
+        stmt.setDate(6, user.userRegistered());
+        stmt.setString(7, user.userActivationKey());
+        stmt.setInt(8, user.userStatus());
+        stmt.setString(9, user.displayName());
+    }
+
+    private static void bindPost(PreparedStatement stmt, PostData post) throws SQLException {
+        stmt.setLong(1, post.postAuthor());
+        stmt.setTimestamp(2, post.postDate());
+        stmt.setTimestamp(3, post.postDateGmt());
+        stmt.setString(4, post.postContent());
+        stmt.setString(5, post.postTitle());
+        stmt.setString(6, post.postExcerpt());
+        stmt.setString(7, post.postStatus());
+        stmt.setString(8, post.commentStatus());
+        stmt.setString(9, post.pingStatus());
+        stmt.setString(10, post.postPassword());
+        stmt.setString(11, post.postName());
+        stmt.setString(12, post.toPing());
+        stmt.setString(13, post.pinged());
+        stmt.setTimestamp(14, post.postModified());
+        stmt.setTimestamp(15, post.postModifiedGmt());
+        stmt.setString(16, post.postContentFiltered());
+        stmt.setLong(17, post.postParent());
+        stmt.setString(18, post.guid());
+        stmt.setInt(19, post.menuOrder());
+        stmt.setString(20, post.postType());
+        stmt.setString(21, post.postMimeType());
+        stmt.setLong(22, post.commentCount());
+    }
+
+    private static void bindTerm(PreparedStatement stmt, TermData term) throws SQLException {
+        stmt.setString(1, term.termName());
+        stmt.setString(2, term.termSlug());
+        stmt.setLong(3, term.termGroup());
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
 }
@@ -0,0 +1,70 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Требование к задержке эндпоинта: процентиль полного времени запроса не выше порога.
+ * <p>
+ * Задается в config.properties ключами {@code sla.*} в формате
+ * {@code sla.<имя>=<METHOD> <route> p<процентиль> <порог, мс>}, например
+ * {@code sla.getUser=GET /wp/v2/users/{id} p95 150}.
+ * </p>
+ *
+ * @param name       Имя требования (часть ключа после {@code sla.}).
+ * @param endpoint   Эндпоинт в формате {@link TimingFilter#endpoint(String, String)}.
+ * @param percentile Процентиль от 0 до 100.
+ * @param maxMillis  Порог, мс.
+ */
+public record EndpointSla(String name, String endpoint, double percentile, double maxMillis) {
+    private static final String PREFIX = "sla.";
+
+    /**
+     * Читает требования из конфигурации.
+     *
+     * @param config Конфигурация тестов.
+     * @return Требования; пустой список, если ключей {@code sla.*} нет.
+     * @throws IllegalArgumentException Если значение не соответствует формату.
+     */
+    public static List<EndpointSla> fromConfig(Config config) {
+        List<EndpointSla> slas = new ArrayList<>();
+        for (Map.Entry<String, String> entry : config.getPropertiesByPrefix(PREFIX).entrySet()) {
+            String[] parts = entry.getValue().trim().split("\\s+");
+            if (parts.length != 4 || !parts[2].startsWith("p")) {
+                throw new IllegalArgumentException("Неверный формат " + entry.getKey() + "=" + entry.getValue()
+                        + ", ожидается <METHOD> <route> p<процентиль> <порог, мс>");
+            }
+            slas.add(new EndpointSla(entry.getKey().substring(PREFIX.length()), parts[0] + " " + parts[1],
+                    Double.parseDouble(parts[2].substring(1)), Double.parseDouble(parts[3])));
+        }
+        return slas;
+    }
+
+    /**
+     * Проверяет требования по накопленным замерам и падает со списком всех нарушений.
+     * Требования к эндпоинтам, к которым не было запросов, пропускаются.
+     *
+     * @param slas Требования.
+     */
+    public static void assertAll(List<EndpointSla> slas) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointSla sla : slas) {
+            double actual = EndpointTimings.percentileMillis(sla.endpoint(), sla.percentile());
+            if (!Double.isNaN(actual) && actual > sla.maxMillis()) {
+                violations.add(String.format(Locale.ROOT, "%s: %s p%s = %.1f мс > %.1f мс", sla.name(),
+                        sla.endpoint(), formatPercentile(sla.percentile()), actual, sla.maxMillis()));
+            }
+        }
+        if (!violations.isEmpty()) {
+            fail("Нарушены требования к задержке:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
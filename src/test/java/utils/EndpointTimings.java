@@ -0,0 +1,121 @@
+package utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Накопленные за прогон замеры запросов по эндпоинтам ({@code METHOD /route}).
+ * <p>
+ * Для каждого эндпоинта хранятся HDR-гистограммы времени разрешения имени, установки
+ * соединения, времени до первого байта и полного времени запроса (в микросекундах),
+ * а также количество и суммарный размер ответов. Заполняется {@link TimingFilter}.
+ * </p>
+ */
+public final class EndpointTimings {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private EndpointTimings() {
+    }
+
+    /**
+     * Записывает замер одного запроса.
+     *
+     * @param endpoint       Эндпоинт.
+     * @param dnsNanos       Разрешение имени, нс; 0, если соединение взято из пула.
+     * @param connectNanos   Установка соединения, нс; 0, если соединение взято из пула.
+     * @param firstByteNanos Время до первого байта ответа, нс.
+     * @param totalNanos     Полное время запроса, нс.
+     * @param bytes          Размер тела ответа, байт.
+     */
+    public static void record(String endpoint, long dnsNanos, long connectNanos, long firstByteNanos, long totalNanos,
+                              long bytes) {
+        Endpoint stats = ENDPOINTS.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.dns.recordValue(TimeUnit.NANOSECONDS.toMicros(dnsNanos));
+        stats.connect.recordValue(TimeUnit.NANOSECONDS.toMicros(connectNanos));
+        stats.firstByte.recordValue(TimeUnit.NANOSECONDS.toMicros(firstByteNanos));
+        stats.total.recordValue(TimeUnit.NANOSECONDS.toMicros(totalNanos));
+        stats.bytes.add(bytes);
+    }
+
+    /**
+     * Возвращает копии гистограмм полного времени запроса по эндпоинтам.
+     *
+     * @return Гистограммы в микросекундах, отсортированные по эндпоинту.
+     */
+    public static Map<String, Histogram> totals() {
+        Map<String, Histogram> totals = new TreeMap<>();
+        ENDPOINTS.forEach((endpoint, stats) -> totals.put(endpoint, stats.total.copy()));
+        return totals;
+    }
+
+    /**
+     * Возвращает процентиль полного времени запроса к эндпоинту.
+     *
+     * @param endpoint   Эндпоинт.
+     * @param percentile Процентиль от 0 до 100.
+     * @return Время в миллисекундах или {@code NaN}, если запросов к эндпоинту не было.
+     */
+    public static double percentileMillis(String endpoint, double percentile) {
+        Endpoint stats = ENDPOINTS.get(endpoint);
+        return stats == null ? Double.NaN : stats.total.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Форматирует сводную таблицу по эндпоинтам.
+     *
+     * @return Таблица: количество, средние фазы, процентили полного времени и размер ответа.
+     */
+    public static String summary() {
+        StringBuilder table = new StringBuilder(String.format(
+                "%-34s | %6s | %8s | %8s | %8s | %8s | %8s | %8s | %8s | %10s%n", "эндпоинт", "запросы",
+                "dns, мс", "conn, мс", "ttfb, мс", "p50, мс", "p95, мс", "p99, мс", "max, мс", "ср. байт"));
+        new TreeMap<>(ENDPOINTS).forEach((endpoint, stats) -> {
+            Histogram total = stats.total;
+            long count = total.getTotalCount();
+            table.append(String.format(Locale.ROOT,
+                    "%-34s | %6d | %8.2f | %8.2f | %8.1f | %8.1f | %8.1f | %8.1f | %8.1f | %10d%n",
+                    endpoint, count, stats.dns.getMean() / 1000, stats.connect.getMean() / 1000,
+                    stats.firstByte.getMean() / 1000, total.getValueAtPercentile(50) / 1000.0,
+                    total.getValueAtPercentile(95) / 1000.0, total.getValueAtPercentile(99) / 1000.0,
+                    total.getMaxValue() / 1000.0, count == 0 ? 0 : stats.bytes.sum() / count));
+        });
+        return table.toString();
+    }
+
+    /**
+     * Форматирует распределения полного времени запроса по эндпоинтам в формате HdrHistogram
+     * (значения в миллисекундах), пригодном для построения графика процентилей.
+     *
+     * @return Распределения по эндпоинтам.
+     */
+    public static String histograms() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            totals().forEach((endpoint, histogram) -> {
+                out.println("# " + endpoint);
+                histogram.outputPercentileDistribution(out, 1000.0);
+                out.println();
+            });
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static final class Endpoint {
+        private final Histogram dns = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram connect = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram firstByte = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram total = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder bytes = new LongAdder();
+    }
+}
@@ -0,0 +1,173 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Обобщенные операции над строками произвольной таблицы по первичному ключу.
+ * <p>
+ * Имена таблиц и столбцов проверяются по {@link TableMetadata}, значения привязываются
+ * с JDBC-типом столбца, а текст SQL строится один раз на пару (таблица, набор столбцов)
+ * и затем берется из кэша.
+ * </p>
+ */
+public class EntityDao {
+    private static final Map<SqlKey, String> SQL_CACHE = new ConcurrentHashMap<>();
+
+    private final Connection connection;
+
+    /**
+     * Создает DAO для заданного соединения.
+     *
+     * @param connection Соединение с базой данных.
+     */
+    public EntityDao(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Получает строку таблицы по первичному ключу.
+     *
+     * @param tableName Имя таблицы.
+     * @param id        Значение первичного ключа.
+     * @return Результат запроса; закрывает свое выражение при закрытии.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public QueryResult selectById(String tableName, Object id) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        String query = SQL_CACHE.computeIfAbsent(new SqlKey(table, Operation.SELECT, null), EntityDao::buildSql);
+        PreparedStatement statement = connection.prepareStatement(query);
+        try {
+            bind(statement, 1, table.primaryKey(), id);
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+        return new QueryResult(statement);
+    }
+
+    /**
+     * Обновляет один столбец строки по первичному ключу.
+     *
+     * @param tableName  Имя таблицы.
+     * @param id         Значение первичного ключа.
+     * @param columnName Имя обновляемого столбца.
+     * @param value      Новое значение.
+     * @return Количество обновленных строк.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public int updateById(String tableName, Object id, String columnName, Object value) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        TableMetadata.Column column = table.column(columnName);
+        String query = SQL_CACHE.computeIfAbsent(new SqlKey(table, Operation.UPDATE, List.of(column)), EntityDao::buildSql);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            bind(statement, 1, column, value);
+            bind(statement, 2, table.primaryKey(), id);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Обновляет несколько столбцов строки по первичному ключу.
+     *
+     * @param tableName Имя таблицы.
+     * @param id        Значение первичного ключа.
+     * @param values    Новые значения по именам столбцов.
+     * @return Количество обновленных строк.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public int updateById(String tableName, Object id, Map<String, ?> values) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        List<TableMetadata.Column> columns = new ArrayList<>(values.size());
+        for (String columnName : values.keySet()) {
+            columns.add(table.column(columnName));
+        }
+        String query = SQL_CACHE.computeIfAbsent(new SqlKey(table, Operation.UPDATE, columns), EntityDao::buildSql);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            int index = 1;
+            for (Object value : values.values()) {
+                bind(statement, index, columns.get(index - 1), value);
+                index++;
+            }
+            bind(statement, index, table.primaryKey(), id);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Удаляет строку по первичному ключу.
+     *
+     * @param tableName Имя таблицы.
+     * @param id        Значение первичного ключа.
+     * @return Количество удаленных строк.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public int deleteById(String tableName, Object id) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        String query = SQL_CACHE.computeIfAbsent(new SqlKey(table, Operation.DELETE, null), EntityDao::buildSql);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            bind(statement, 1, table.primaryKey(), id);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Считывает количество строк таблицы.
+     *
+     * @param tableName Имя таблицы.
+     * @return Количество строк.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public long count(String tableName) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        String query = SQL_CACHE.computeIfAbsent(new SqlKey(table, Operation.COUNT, null), EntityDao::buildSql);
+        try (PreparedStatement statement = connection.prepareStatement(query);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, TableMetadata.Column column, Object value)
+            throws SQLException {
+        if (value == null) {
+            statement.setNull(index, column.jdbcType());
+        } else {
+            statement.setObject(index, value, column.jdbcType());
+        }
+    }
+
+    private static String buildSql(SqlKey key) {
+        TableMetadata table = key.table();
+        String where = " WHERE " + table.primaryKey().quotedName() + " = ?";
+        switch (key.operation()) {
+            case SELECT:
+                return "SELECT * FROM " + table.quotedName() + where;
+            case UPDATE:
+                List<String> assignments = new ArrayList<>();
+                for (TableMetadata.Column column : key.columns()) {
+                    assignments.add(column.quotedName() + " = ?");
+                }
+                return "UPDATE " + table.quotedName() + " SET " + String.join(", ", assignments) + where;
+            case DELETE:
+                return "DELETE FROM " + table.quotedName() + where;
+            case COUNT:
+                return "SELECT COUNT(*) FROM " + table.quotedName();
+            default:
+                throw new IllegalStateException("Неизвестная операция: " + key.operation());
+        }
+    }
+
+    private enum Operation {
+        SELECT, UPDATE, DELETE, COUNT
+    }
+
+    private record SqlKey(TableMetadata table, Operation operation, List<TableMetadata.Column> columns) {
+    }
+}
@@ -0,0 +1,73 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Чтение JSON в дерево из {@link Map}, {@link List} и скалярных значений потоковым парсером jackson-core.
+ */
+final class JsonTree {
+    static final JsonFactory JSON = new JsonFactory();
+
+    private JsonTree() {
+    }
+
+    /**
+     * Читает документ целиком.
+     *
+     * @param body JSON в UTF-8.
+     * @return Дерево документа или {@code null} для пустого тела.
+     * @throws IOException Если тело не является корректным JSON.
+     */
+    static Object parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            return token == null ? null : read(parser, token);
+        }
+    }
+
+    /**
+     * Читает значение, начинающееся с текущего токена, вместе со всеми вложенными значениями.
+     *
+     * @param parser Парсер, стоящий на первом токене значения.
+     * @param token  Текущий токен.
+     * @return Значение.
+     * @throws IOException Если JSON некорректен.
+     */
+    static Object read(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                Map<String, Object> object = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    object.put(name, read(parser, parser.nextToken()));
+                }
+                return object;
+            case START_ARRAY:
+                List<Object> array = new ArrayList<>();
+                JsonToken elementToken;
+                while ((elementToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    array.add(read(parser, elementToken));
+                }
+                return array;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package utils;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Общий HTTP-клиент RestAssured с пулом keep-alive соединений.
+ * <p>
+ * Все запросы идут через один экземпляр клиента, поэтому TCP-соединения переиспользуются
+ * между запросами и тестами. Счетчики открытых соединений и отправленных запросов
+ * позволяют проверить, что рукопожатие не выполняется на каждый запрос.
+ * Хуки клиента также замеряют разрешение имени, установку соединения и время до первого
+ * байта ответа для {@link TimingFilter}. Фоновый поток закрывает соединения, простаивающие дольше
+ * {@code http.pool.idleTimeoutSeconds}, чтобы не отправлять запрос в соединение, закрытое сервером.
+ * </p>
+ * <p>
+ * Используется устаревший API HttpClient 4 ({@code DefaultHttpClient}, {@code PoolingClientConnectionManager}):
+ * RestAssured настраивает клиент через {@code HttpClient.getParams()}, а клиенты из {@code HttpClientBuilder}
+ * на этот вызов бросают {@code UnsupportedOperationException}.
+ * </p>
+ */
+public final class KeepAliveHttpClient {
+    private static final LongAdder CONNECTIONS_OPENED = new LongAdder();
+    private static final LongAdder REQUESTS_SENT = new LongAdder();
+
+    private KeepAliveHttpClient() {
+    }
+
+    /**
+     * Создает конфигурацию RestAssured с одним переиспользуемым клиентом и пулом соединений.
+     *
+     * @param config Конфигурация тестов, из которой берутся размеры пула и таймаут простоя {@code http.pool.*}.
+     * @return Конфигурация RestAssured.
+     */
+    // Устаревший API нужен RestAssured, см. описание класса.
+    @SuppressWarnings("deprecation")
+    public static RestAssuredConfig restAssuredConfig(Config config) {
+        int maxTotal = Integer.parseInt(config.getProperty("http.pool.maxTotal"));
+        int maxPerRoute = Integer.parseInt(config.getProperty("http.pool.maxPerRoute"));
+        long idleTimeoutSeconds = Long.parseLong(config.getProperty("http.pool.idleTimeoutSeconds"));
+        HttpClientConfig.HttpClientFactory factory = () -> {
+            PoolingClientConnectionManager connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+            startEviction(connectionManager, idleTimeoutSeconds);
+            DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+            // Соединение, закрытое сервером между проверками, отбрасывается перед отправкой запроса.
+            HttpConnectionParams.setStaleCheckingEnabled(client.getParams(), true);
+            client.addRequestInterceptor((request, context) -> REQUESTS_SENT.increment());
+            // Перехватчики ответа вызываются после чтения заголовков, до чтения тела.
+            client.addResponseInterceptor((response, context) -> RequestTimings.markFirstByte());
+            return client;
+        };
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(factory));
+    }
+
+    /**
+     * Периодически закрывает соединения с истекшим keep-alive и простаивающие дольше таймаута.
+     */
+    @SuppressWarnings("deprecation")
+    private static void startEviction(PoolingClientConnectionManager connectionManager, long idleTimeoutSeconds) {
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(TimeUnit.SECONDS.toMillis(idleTimeoutSeconds) / 2, 500);
+        evictor.scheduleAtFixedRate(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Возвращает количество открытых TCP-соединений.
+     *
+     * @return Количество соединений.
+     */
+    public static long connectionsOpened() {
+        return CONNECTIONS_OPENED.sum();
+    }
+
+    /**
+     * Возвращает количество отправленных HTTP-запросов.
+     *
+     * @return Количество запросов.
+     */
+    public static long requestsSent() {
+        return REQUESTS_SENT.sum();
+    }
+
+    /**
+     * Форматирует счетчики в виде текстового отчета.
+     *
+     * @return Отчет о переиспользовании соединений.
+     */
+    public static String report() {
+        long connections = connectionsOpened();
+        long requests = requestsSent();
+        return String.format("Открыто соединений: %d%nОтправлено запросов: %d%nЗапросов на соединение: %.1f%n",
+                connections, requests, connections == 0 ? 0.0 : (double) requests / connections);
+    }
+
+    /**
+     * Пул соединений, считающий открытие новых TCP-соединений и замеряющий их установку.
+     */
+    @SuppressWarnings("deprecation")
+    private static final class CountingConnectionManager extends PoolingClientConnectionManager {
+        private CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            DnsResolver dnsResolver = host -> {
+                long start = System.nanoTime();
+                try {
+                    return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+                } finally {
+                    RequestTimings.addDns(System.nanoTime() - start);
+                }
+            };
+            return new DefaultClientConnectionOperator(schemeRegistry, dnsResolver) {
+                @Override
+                public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    CONNECTIONS_OPENED.increment();
+                    long start = System.nanoTime();
+                    RequestTimings timings = RequestTimings.current();
+                    long dnsBefore = timings == null ? 0 : timings.dnsNanos;
+                    try {
+                        super.openConnection(connection, target, local, context, params);
+                    } finally {
+                        long dns = timings == null ? 0 : timings.dnsNanos - dnsBefore;
+                        RequestTimings.addConnect(System.nanoTime() - start - dns);
+                    }
+                }
+            };
+        }
+    }
+}
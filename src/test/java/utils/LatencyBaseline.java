@@ -0,0 +1,137 @@
+package utils;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Хранилище распределений задержки по эндпоинтам за последние прогоны.
+ * <p>
+ * Каждая строка файла — одно распределение одного прогона:
+ * {@code <время, мс>\t<эндпоинт>\t<сжатая HDR-гистограмма в Base64>}. Для каждого
+ * эндпоинта хранится не больше {@code window} последних прогонов, а базовая линия
+ * строится объединением их гистограмм.
+ * </p>
+ */
+public class LatencyBaseline {
+    private final Path file;
+    private final int window;
+    private final Map<String, Deque<Entry>> runs = new TreeMap<>();
+
+    /**
+     * Загружает хранилище из файла; отсутствующий файл означает пустую базовую линию.
+     *
+     * @param file   Файл базовой линии.
+     * @param window Количество последних прогонов, учитываемых для каждого эндпоинта.
+     * @throws IOException Если файл не удалось прочитать или он поврежден.
+     */
+    public LatencyBaseline(Path file, int window) throws IOException {
+        this.file = file;
+        this.window = window;
+        if (Files.notExists(file)) {
+            return;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split("\t");
+            if (columns.length != 3) {
+                throw new IOException("Поврежденная строка базовой линии " + file + ": " + line);
+            }
+            add(new Entry(Long.parseLong(columns[0]), columns[1], decode(columns[2])));
+        }
+    }
+
+    /**
+     * Возвращает базовую линию эндпоинта: объединение гистограмм последних прогонов.
+     *
+     * @param endpoint Эндпоинт.
+     * @return Гистограмма в микросекундах или {@code null}, если прогонов еще не было.
+     */
+    public Histogram baseline(String endpoint) {
+        Deque<Entry> entries = runs.get(endpoint);
+        if (entries == null || entries.isEmpty()) {
+            return null;
+        }
+        Histogram merged = null;
+        for (Entry entry : entries) {
+            if (merged == null) {
+                merged = entry.histogram().copy();
+            } else {
+                merged.add(entry.histogram());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Возвращает количество прогонов в базовой линии эндпоинта.
+     *
+     * @param endpoint Эндпоинт.
+     * @return Количество прогонов.
+     */
+    public int runCount(String endpoint) {
+        Deque<Entry> entries = runs.get(endpoint);
+        return entries == null ? 0 : entries.size();
+    }
+
+    /**
+     * Добавляет распределения текущего прогона и перезаписывает файл.
+     *
+     * @param histograms Гистограммы по эндпоинтам, мкс.
+     * @throws IOException Если файл не удалось записать.
+     */
+    public void append(Map<String, Histogram> histograms) throws IOException {
+        long now = System.currentTimeMillis();
+        histograms.forEach((endpoint, histogram) -> add(new Entry(now, endpoint, histogram)));
+        List<String> lines = new ArrayList<>();
+        runs.values().forEach(entries -> entries.forEach(entry ->
+                lines.add(entry.timestamp() + "\t" + entry.endpoint() + "\t" + encode(entry.histogram()))));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, lines, StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void add(Entry entry) {
+        Deque<Entry> entries = runs.computeIfAbsent(entry.endpoint(), key -> new ArrayDeque<>());
+        entries.addLast(entry);
+        while (entries.size() > window) {
+            entries.removeFirst();
+        }
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) throws IOException {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException | IllegalArgumentException e) {
+            throw new IOException("Не удалось декодировать гистограмму базовой линии", e);
+        }
+    }
+
+    private record Entry(long timestamp, String endpoint, Histogram histogram) {
+    }
+}
@@ -0,0 +1,106 @@
+package utils;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Расширение JUnit, которое после завершения прогона сравнивает задержки эндпоинтов
+ * из {@link EndpointTimings} с базовой линией из прошлых прогонов.
+ * <p>
+ * Режим задается свойством {@code baseline.mode}: {@code off} — ничего не делать,
+ * {@code warn} — только отчет, {@code fail} — прогон падает при регрессии.
+ * Прогон с регрессией не добавляется в базовую линию, пока она не принята явно
+ * через {@code -Dbaseline.accept=true}. Базовая линия ведется отдельно для каждого адреса
+ * {@code baseURI} и для заменителя WordPress, чтобы прогоны на разных стендах не сравнивались
+ * между собой. Отчет пишется в {@code target/latency-regression.txt} и в {@link RunReport}.
+ * </p>
+ */
+public class LatencyBaselineExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(LatencyBaselineExtension.class);
+    private static final Path REPORT_FILE = Paths.get("target", "latency-regression.txt");
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Config config = new Config();
+        if ("off".equalsIgnoreCase(config.getProperty("baseline.mode"))) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(RegressionGate.class, key -> new RegressionGate(config), RegressionGate.class);
+    }
+
+    /**
+     * Проверка, выполняемая при закрытии корневого контекста JUnit, то есть после всех тестов.
+     */
+    private static final class RegressionGate implements ExtensionContext.Store.CloseableResource {
+        private final Config config;
+
+        private RegressionGate(Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Map<String, Histogram> current = EndpointTimings.totals();
+            if (current.isEmpty()) {
+                return;
+            }
+            Path baselineFile = baselineFile(config);
+            LatencyBaseline baseline = new LatencyBaseline(baselineFile,
+                    Integer.parseInt(config.getProperty("baseline.window")));
+            double alpha = Double.parseDouble(config.getProperty("baseline.alpha"));
+            double minRegression = Double.parseDouble(config.getProperty("baseline.minRegression"));
+            long minSamples = Long.parseLong(config.getProperty("baseline.minSamples"));
+
+            List<LatencyComparison.Result> results = new ArrayList<>();
+            List<String> regressions = new ArrayList<>();
+            current.forEach((endpoint, histogram) -> {
+                LatencyComparison.Result result = LatencyComparison.compare(endpoint, baseline.baseline(endpoint),
+                        histogram, alpha, minRegression, minSamples);
+                results.add(result);
+                if (result.verdict() == LatencyComparison.Verdict.REGRESSION) {
+                    regressions.add(endpoint);
+                }
+            });
+
+            String report = LatencyComparison.report(results);
+            RunReport.attach("Сравнение задержек с базовой линией", baselineFile + ":" + System.lineSeparator() + report);
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, report, StandardCharsets.UTF_8);
+
+            if (regressions.isEmpty() || Boolean.parseBoolean(config.getProperty("baseline.accept"))) {
+                baseline.append(current);
+            }
+            if (!regressions.isEmpty() && "fail".equalsIgnoreCase(config.getProperty("baseline.mode"))) {
+                throw new AssertionError("Регрессия задержки: " + String.join(", ", regressions)
+                        + ". Подробности в " + REPORT_FILE);
+            }
+        }
+
+        /**
+         * Добавляет к имени файла {@code baseline.file} ключ стенда: {@code stub} для заменителя
+         * или адрес {@code baseURI}, например {@code endpoints-localhost_wordpress_index.php.hlog}.
+         */
+        private static Path baselineFile(Config config) {
+            Path configured = Paths.get(config.getProperty("baseline.file"));
+            String target = Boolean.parseBoolean(config.getProperty("stub.enabled")) ? "stub"
+                    : config.getProperty("baseURI").replaceFirst("^[a-zA-Z]+://", "")
+                    .replaceAll("[^A-Za-z0-9.-]+", "_").replaceAll("^_+|_+$", "");
+            String name = configured.getFileName().toString();
+            int extension = name.lastIndexOf('.');
+            String keyed = extension < 0 ? name + "-" + target
+                    : name.substring(0, extension) + "-" + target + name.substring(extension);
+            return configured.resolveSibling(keyed);
+        }
+    }
+}
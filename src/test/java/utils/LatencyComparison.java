@@ -0,0 +1,136 @@
+package utils;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Сравнение распределения задержки текущего прогона с базовой линией.
+ * <p>
+ * Значимость изменения проверяется двухвыборочным критерием Колмогорова–Смирнова,
+ * посчитанным прямо по HDR-гистограммам. Чтобы статистически значимые, но несущественные
+ * сдвиги не считались регрессией, дополнительно требуется рост медианы или p95
+ * не меньше чем на {@code minRegression}.
+ * </p>
+ */
+public final class LatencyComparison {
+    private LatencyComparison() {
+    }
+
+    /**
+     * Сравнивает распределения одного эндпоинта.
+     *
+     * @param endpoint      Эндпоинт.
+     * @param baseline      Базовая линия, мкс; {@code null}, если ее нет.
+     * @param current       Текущий прогон, мкс.
+     * @param alpha         Уровень значимости критерия, например 0.01.
+     * @param minRegression Минимальный относительный рост p50 или p95, например 0.1 для 10%.
+     * @param minSamples    Минимальное количество запросов в каждой выборке.
+     * @return Результат сравнения.
+     */
+    public static Result compare(String endpoint, Histogram baseline, Histogram current, double alpha,
+                                 double minRegression, long minSamples) {
+        if (baseline == null) {
+            return new Result(endpoint, 0, current, null, Double.NaN, Double.NaN, Verdict.NEW);
+        }
+        long n = baseline.getTotalCount();
+        long m = current.getTotalCount();
+        if (n < minSamples || m < minSamples) {
+            return new Result(endpoint, n, current, baseline, Double.NaN, Double.NaN, Verdict.INSUFFICIENT_DATA);
+        }
+        double statistic = statistic(baseline, current);
+        double critical = Math.sqrt(-Math.log(alpha / 2) / 2) * Math.sqrt((double) (n + m) / ((double) n * m));
+        Verdict verdict = Verdict.NO_CHANGE;
+        if (statistic > critical) {
+            boolean slower = grew(baseline, current, 50, minRegression) || grew(baseline, current, 95, minRegression);
+            if (slower) {
+                verdict = Verdict.REGRESSION;
+            } else if (current.getValueAtPercentile(50) < baseline.getValueAtPercentile(50)) {
+                verdict = Verdict.IMPROVEMENT;
+            }
+        }
+        return new Result(endpoint, n, current, baseline, statistic, critical, verdict);
+    }
+
+    /**
+     * Вычисляет статистику Колмогорова–Смирнова: наибольшее расстояние между эмпирическими
+     * функциями распределения двух гистограмм.
+     *
+     * @param first  Первая гистограмма.
+     * @param second Вторая гистограмма.
+     * @return Статистика D от 0 до 1.
+     */
+    static double statistic(Histogram first, Histogram second) {
+        Map<Long, long[]> counts = new TreeMap<>();
+        for (HistogramIterationValue value : first.recordedValues()) {
+            counts.computeIfAbsent(value.getValueIteratedTo(), key -> new long[2])[0] += value.getCountAtValueIteratedTo();
+        }
+        for (HistogramIterationValue value : second.recordedValues()) {
+            counts.computeIfAbsent(value.getValueIteratedTo(), key -> new long[2])[1] += value.getCountAtValueIteratedTo();
+        }
+        double n = first.getTotalCount();
+        double m = second.getTotalCount();
+        long cumulativeFirst = 0;
+        long cumulativeSecond = 0;
+        double statistic = 0;
+        for (long[] count : counts.values()) {
+            cumulativeFirst += count[0];
+            cumulativeSecond += count[1];
+            statistic = Math.max(statistic, Math.abs(cumulativeFirst / n - cumulativeSecond / m));
+        }
+        return statistic;
+    }
+
+    /**
+     * Форматирует результаты сравнения в виде таблицы.
+     *
+     * @param results Результаты по эндпоинтам.
+     * @return Отчет о различиях.
+     */
+    public static String report(List<Result> results) {
+        StringBuilder report = new StringBuilder(String.format("%-34s | %-17s | %8s | %8s | %8s | %8s | %8s | %6s | %6s%n",
+                "эндпоинт", "вывод", "n баз.", "p50 баз.", "p50 тек.", "p95 баз.", "p95 тек.", "D", "D крит."));
+        for (Result result : results) {
+            report.append(String.format(Locale.ROOT, "%-34s | %-17s | %8d | %8.1f | %8.1f | %8.1f | %8.1f | %6.3f | %6.3f%n",
+                    result.endpoint(), result.verdict(), result.baselineCount(),
+                    millis(result.baseline(), 50), millis(result.current(), 50),
+                    millis(result.baseline(), 95), millis(result.current(), 95),
+                    result.statistic(), result.criticalValue()));
+        }
+        return report.toString();
+    }
+
+    private static boolean grew(Histogram baseline, Histogram current, double percentile, double minRegression) {
+        return current.getValueAtPercentile(percentile) > baseline.getValueAtPercentile(percentile) * (1 + minRegression);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram == null ? Double.NaN : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Вывод сравнения.
+     */
+    public enum Verdict {
+        REGRESSION, IMPROVEMENT, NO_CHANGE, INSUFFICIENT_DATA, NEW
+    }
+
+    /**
+     * Результат сравнения одного эндпоинта.
+     *
+     * @param endpoint      Эндпоинт.
+     * @param baselineCount Количество запросов в базовой линии.
+     * @param current       Распределение текущего прогона, мкс.
+     * @param baseline      Распределение базовой линии, мкс; {@code null}, если ее нет.
+     * @param statistic     Статистика Колмогорова–Смирнова.
+     * @param criticalValue Критическое значение статистики.
+     * @param verdict       Вывод.
+     */
+    public record Result(String endpoint, long baselineCount, Histogram current, Histogram baseline,
+                         double statistic, double criticalValue, Verdict verdict) {
+    }
+}
@@ -0,0 +1,142 @@
+package utils;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Отчет об ускорении от параллельного выполнения тестов.
+ * <p>
+ * Сравнивает суммарное время всех тестов (время последовательного запуска) с реальным временем
+ * от начала первого теста до конца последнего и дописывает результат в {@code target/parallel-speedup.csv}.
+ * Подготовка до первого теста (загрузка классов, прогрев пулов) и закрытие ресурсов после последнего
+ * в реальное время не входят, поэтому последовательный запуск дает ускорение около 1.
+ * Сводка по накопленным запускам с разным числом потоков, по которой можно выбрать размер CI-агентов,
+ * добавляется в {@link RunReport}.
+ * Регистрируется через {@code META-INF/services/org.junit.platform.launcher.TestExecutionListener}.
+ * </p>
+ */
+public class ParallelismReportListener implements TestExecutionListener {
+    private static final Path REPORT_FILE = Paths.get("target", "parallel-speedup.csv");
+    private static final String HEADER = "timestamp,parallel,workers,tests,wall_ms,serial_ms,speedup";
+
+    private final Map<String, Long> startedAt = new ConcurrentHashMap<>();
+    private final LongAdder serialNanos = new LongAdder();
+    private final LongAdder testCount = new LongAdder();
+    private final AtomicLong firstTestStartedAt = new AtomicLong();
+    private final AtomicLong lastTestFinishedAt = new AtomicLong();
+    private boolean parallel;
+    private int workers;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        parallel = testPlan.getConfigurationParameters()
+                .getBoolean("junit.jupiter.execution.parallel.enabled").orElse(false);
+        workers = parallel ? testPlan.getConfigurationParameters()
+                .get("junit.jupiter.execution.parallel.config.fixed.parallelism", Integer::parseInt)
+                .orElse(Runtime.getRuntime().availableProcessors()) : 1;
+        // Вложения записываются при закрытии корневого контекста JUnit, когда все тесты уже завершены,
+        // но раньше testPlanExecutionFinished.
+        RunReport.attachAtEnd("Ускорение параллельного выполнения", this::summary);
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (testIdentifier.isTest()) {
+            long now = System.nanoTime();
+            firstTestStartedAt.compareAndSet(0, now);
+            startedAt.put(testIdentifier.getUniqueId(), now);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        Long started = startedAt.remove(testIdentifier.getUniqueId());
+        if (started != null) {
+            long now = System.nanoTime();
+            serialNanos.add(now - started);
+            testCount.increment();
+            lastTestFinishedAt.accumulateAndGet(now, Math::max);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (testCount.sum() == 0) {
+            return;
+        }
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            if (Files.notExists(REPORT_FILE)) {
+                Files.write(REPORT_FILE, List.of(HEADER), StandardCharsets.UTF_8);
+            }
+            Files.write(REPORT_FILE, List.of(measurement()), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Не удалось записать отчет о параллельном выполнении: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает строку CSV с измерением текущего запуска.
+     */
+    private String measurement() {
+        long wallMillis = (lastTestFinishedAt.get() - firstTestStartedAt.get()) / 1_000_000;
+        long serialMillis = serialNanos.sum() / 1_000_000;
+        double speedup = wallMillis == 0 ? 1 : (double) serialMillis / wallMillis;
+        return String.format(Locale.ROOT, "%s,%b,%d,%d,%d,%d,%.2f",
+                Instant.now(), parallel, workers, testCount.sum(), wallMillis, serialMillis, speedup);
+    }
+
+    /**
+     * Строит сводку: последнее измерение для каждого числа потоков, включая текущий запуск,
+     * и ускорение относительно последнего последовательного запуска, если он есть.
+     */
+    private String summary() {
+        if (testCount.sum() == 0) {
+            return "Тесты не выполнялись.";
+        }
+        Map<Integer, String[]> latestByWorkers = new TreeMap<>();
+        try {
+            if (Files.exists(REPORT_FILE)) {
+                List<String> lines = Files.readAllLines(REPORT_FILE, StandardCharsets.UTF_8);
+                for (String line : lines.subList(1, lines.size())) {
+                    String[] columns = line.split(",");
+                    latestByWorkers.put(Integer.parseInt(columns[2]), columns);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + REPORT_FILE, e);
+        }
+        latestByWorkers.put(workers, measurement().split(","));
+
+        StringBuilder summary = new StringBuilder("Накопленные запуски: " + REPORT_FILE).append(System.lineSeparator())
+                .append("потоков | тестов | реальное, мс | сумма тестов, мс | ускорение | к 1 потоку")
+                .append(System.lineSeparator());
+        String[] sequential = latestByWorkers.get(1);
+        for (Map.Entry<Integer, String[]> entry : latestByWorkers.entrySet()) {
+            String[] columns = entry.getValue();
+            String relative = sequential == null ? "-" : String.format(Locale.ROOT, "%.2f",
+                    Double.parseDouble(sequential[4]) / Math.max(1, Double.parseDouble(columns[4])));
+            summary.append(String.format("%7d | %6s | %12s | %16s | %9s | %s%n",
+                    entry.getKey(), columns[3], columns[4], columns[5], columns[6], relative));
+        }
+        return summary.toString().stripTrailing();
+    }
+}
@@ -0,0 +1,36 @@
+package utils;
+
+import java.sql.Timestamp;
+
+/**
+ * Данные для вставки поста в таблицу wp_posts.
+ *
+ * @param postAuthor          Автор поста.
+ * @param postDate            Дата создания поста.
+ * @param postDateGmt         GMT дата создания поста.
+ * @param postContent         Содержимое поста.
+ * @param postTitle           Заголовок поста.
+ * @param postExcerpt         Краткое содержание поста.
+ * @param postStatus          Статус поста.
+ * @param commentStatus       Статус комментариев.
+ * @param pingStatus          Статус пинга.
+ * @param postPassword        Пароль поста.
+ * @param postName            Имя поста.
+ * @param toPing              Список URL для пинга.
+ * @param pinged              Список URL, которые были пингованы.
+ * @param postModified        Дата модификации поста.
+ * @param postModifiedGmt     GMT дата модификации поста.
+ * @param postContentFiltered Отфильтрованное содержание поста.
+ * @param postParent          ID родительского поста.
+ * @param guid                Глобально уникальный идентификатор для поста.
+ * @param menuOrder           Порядок в меню.
+ * @param postType            Тип поста.
+ * @param postMimeType        MIME тип поста.
+ * @param commentCount        Количество комментариев к посту.
+ */
+public record PostData(long postAuthor, Timestamp postDate, Timestamp postDateGmt, String postContent,
+                       String postTitle, String postExcerpt, String postStatus, String commentStatus, String pingStatus,
+                       String postPassword, String postName, String toPing, String pinged, Timestamp postModified,
+                       Timestamp postModifiedGmt, String postContentFiltered, long postParent, String guid,
+                       int menuOrder, String postType, String postMimeType, long commentCount) {
+}
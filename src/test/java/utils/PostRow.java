@@ -0,0 +1,45 @@
+package utils;
+
+/**
+ * Строка таблицы wp_posts.
+ *
+ * @param id   ID поста.
+ * @param data Данные поста.
+ */
+public record PostRow(int id, PostData data) {
+    /**
+     * Преобразователь строк wp_posts.
+     */
+    public static final RowMapper.Factory<PostRow> MAPPER = resultSet -> {
+        int id = resultSet.findColumn("ID");
+        int postAuthor = resultSet.findColumn("post_author");
+        int postDate = resultSet.findColumn("post_date");
+        int postDateGmt = resultSet.findColumn("post_date_gmt");
+        int postContent = resultSet.findColumn("post_content");
+        int postTitle = resultSet.findColumn("post_title");
+        int postExcerpt = resultSet.findColumn("post_excerpt");
+        int postStatus = resultSet.findColumn("post_status");
+        int commentStatus = resultSet.findColumn("comment_status");
+        int pingStatus = resultSet.findColumn("ping_status");
+        int postPassword = resultSet.findColumn("post_password");
+        int postName = resultSet.findColumn("post_name");
+        int toPing = resultSet.findColumn("to_ping");
+        int pinged = resultSet.findColumn("pinged");
+        int postModified = resultSet.findColumn("post_modified");
+        int postModifiedGmt = resultSet.findColumn("post_modified_gmt");
+        int postContentFiltered = resultSet.findColumn("post_content_filtered");
+        int postParent = resultSet.findColumn("post_parent");
+        int guid = resultSet.findColumn("guid");
+        int menuOrder = resultSet.findColumn("menu_order");
+        int postType = resultSet.findColumn("post_type");
+        int postMimeType = resultSet.findColumn("post_mime_type");
+        int commentCount = resultSet.findColumn("comment_count");
+        return rs -> new PostRow(rs.getInt(id), new PostData(rs.getLong(postAuthor), rs.getTimestamp(postDate),
+                rs.getTimestamp(postDateGmt), rs.getString(postContent), rs.getString(postTitle),
+                rs.getString(postExcerpt), rs.getString(postStatus), rs.getString(commentStatus),
+                rs.getString(pingStatus), rs.getString(postPassword), rs.getString(postName), rs.getString(toPing),
+                rs.getString(pinged), rs.getTimestamp(postModified), rs.getTimestamp(postModifiedGmt),
+                rs.getString(postContentFiltered), rs.getLong(postParent), rs.getString(guid), rs.getInt(menuOrder),
+                rs.getString(postType), rs.getString(postMimeType), rs.getLong(commentCount)));
+    };
+}
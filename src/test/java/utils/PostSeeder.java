@@ -0,0 +1,495 @@
+package utils;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Потоковое заполнение таблицы wp_posts большим количеством сгенерированных постов.
+ * <p>
+ * Строки генерируются на лету с помощью {@link RandomGenerator}: заголовки, ярлыки и содержимое
+ * в разметке блоков распределены по модели {@link ContentCorpus}. Строки передаются в MySQL
+ * через {@code LOAD DATA LOCAL INFILE} из потока драйвера, поэтому набор данных
+ * целиком в памяти не хранится. Требует {@code allowLoadLocalInfile=true} в JDBC URL
+ * и включенного {@code local_infile} на сервере. На других базах, например H2 профиля
+ * {@code embedded-db}, строки вставляются пакетами INSERT; удаление индексов там не поддерживается.
+ * </p>
+ * <p>
+ * Перед удалением вторичных индексов команда их восстановления записывается в
+ * {@code target/wp_posts-restore-indexes.sql} и удаляется после восстановления. Если файл остался,
+ * предыдущая загрузка прервалась без индексов, и новая загрузка не начинается, пока индексы
+ * не восстановлены этой командой и файл не удален.
+ * </p>
+ */
+public class PostSeeder {
+    private static final String TABLE_NAME = "wp_posts";
+    private static final String SEED_GUID = "http://example.com/seed-post";
+    private static final long DEFAULT_PROGRESS_INTERVAL = 100_000;
+    private static final int INSERT_BATCH_SIZE = 500;
+    private static final Path INDEX_RESTORE_FILE = Paths.get("target", TABLE_NAME + "-restore-indexes.sql");
+    private static final String LOAD_QUERY = "LOAD DATA LOCAL INFILE 'generated-posts' INTO TABLE " + TABLE_NAME
+            + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' "
+            + "(post_author, post_date, post_date_gmt, post_content, post_title, post_excerpt, post_status, "
+            + "comment_status, ping_status, post_password, post_name, to_ping, pinged, post_modified, "
+            + "post_modified_gmt, post_content_filtered, post_parent, guid, menu_order, post_type, post_mime_type, "
+            + "comment_count)";
+
+    private final Connection connection;
+    private final RandomGenerator generator;
+    private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private ProgressListener progressListener = (rows, rowsPerSecond) -> {
+    };
+
+    /**
+     * Создает заполнитель для указанного соединения.
+     *
+     * @param connection Соединение с базой данных.
+     * @param generator  Генератор случайных данных для содержимого постов.
+     */
+    public PostSeeder(Connection connection, RandomGenerator generator) {
+        this.connection = connection;
+        this.generator = generator;
+    }
+
+    /**
+     * Задает, через сколько строк сообщать о ходе загрузки.
+     *
+     * @param rows Количество строк между сообщениями.
+     */
+    public void setProgressInterval(long rows) {
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Интервал сообщений должен быть положительным: " + rows);
+        }
+        this.progressInterval = rows;
+    }
+
+    /**
+     * Задает получателя сообщений о ходе загрузки. Сообщения также попадают в {@link RunReport}
+     * вместе с итогом загрузки.
+     *
+     * @param progressListener Получатель сообщений.
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Загружает указанное количество сгенерированных постов.
+     * Отчет о загрузке и ее ход также добавляются в {@link RunReport}.
+     *
+     * @param rows                    Количество постов.
+     * @param disableSecondaryIndexes Удалить вторичные индексы и отключить проверку уникальности
+     *                                на время загрузки, затем пересоздать индексы. Только для MySQL.
+     * @return Отчет о загрузке.
+     * @throws SQLException Если возникает ошибка во время загрузки; ошибка восстановления индексов
+     *                      после неудачной загрузки добавляется к ней как подавленная.
+     */
+    public SeedReport seed(long rows, boolean disableSecondaryIndexes) throws SQLException {
+        if (Files.exists(INDEX_RESTORE_FILE)) {
+            throw new IllegalStateException("Предыдущая загрузка прервалась без вторичных индексов " + TABLE_NAME
+                    + ": восстановите их командой из " + INDEX_RESTORE_FILE.toAbsolutePath() + " и удалите файл.");
+        }
+        boolean mysql;
+        try (Statement statement = connection.createStatement()) {
+            mysql = statement.isWrapperFor(JdbcStatement.class);
+        }
+        if (disableSecondaryIndexes && !mysql) {
+            throw new SQLFeatureNotSupportedException("Удаление вторичных индексов поддерживается только в MySQL.");
+        }
+
+        Progress progress = new Progress();
+        String restoreStatement = disableSecondaryIndexes ? dropSecondaryIndexes() : null;
+        long loaded;
+        try {
+            loaded = mysql ? load(rows, disableSecondaryIndexes, progress) : insertInBatches(rows, progress);
+        } catch (SQLException | RuntimeException e) {
+            try {
+                restoreIndexes(restoreStatement);
+            } catch (SQLException | RuntimeException restoreFailure) {
+                e.addSuppressed(restoreFailure);
+            }
+            throw e;
+        }
+        long loadedAt = System.nanoTime();
+        restoreIndexes(restoreStatement);
+        long finishedAt = System.nanoTime();
+        SeedReport report = new SeedReport(loaded, finishedAt - progress.start, finishedAt - loadedAt);
+        RunReport.attach("Загрузка постов", report + System.lineSeparator() + progress.log);
+        return report;
+    }
+
+    /**
+     * Выполняет LOAD DATA; проверка уникальности отключается только вместе с удалением индексов.
+     */
+    private long load(long rows, boolean relaxUniqueChecks, Progress progress) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new GeneratedPostStream(rows, progress));
+            if (!relaxUniqueChecks) {
+                return statement.executeUpdate(LOAD_QUERY);
+            }
+            statement.execute("SET SESSION unique_checks = 0");
+            long loaded;
+            try {
+                loaded = statement.executeUpdate(LOAD_QUERY);
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    statement.execute("SET SESSION unique_checks = 1");
+                } catch (SQLException resetFailure) {
+                    e.addSuppressed(resetFailure);
+                }
+                throw e;
+            }
+            statement.execute("SET SESSION unique_checks = 1");
+            return loaded;
+        }
+    }
+
+    /**
+     * Вставляет посты пакетами INSERT для баз без LOAD DATA LOCAL INFILE.
+     */
+    private long insertInBatches(long rows, Progress progress) throws SQLException {
+        DataManagementUtils dataManagementUtils = new DataManagementUtils(connection);
+        dataManagementUtils.setBatchSize(INSERT_BATCH_SIZE);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        now.setNanos(0);
+        List<PostData> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        long inserted = 0;
+        while (inserted < rows) {
+            batch.clear();
+            // Пакет не переходит границу интервала, чтобы сообщения о ходе приходили с тем же шагом, что и в MySQL.
+            int size = (int) Math.min(Math.min(INSERT_BATCH_SIZE, rows - inserted),
+                    progressInterval - inserted % progressInterval);
+            for (int i = 0; i < size; i++) {
+                String title = generator.generateTitle();
+                batch.add(new PostData(1, now, now, generator.generatePostContent(), title, "", "publish", "open",
+                        "open", "", generator.generateSlug(title), "", "", now, now, "", 0, SEED_GUID, 0, "post",
+                        "", 0));
+            }
+            inserted += dataManagementUtils.createPosts(batch).length;
+            progress.reached(inserted);
+        }
+        return inserted;
+    }
+
+    /**
+     * Удаляет вторичные индексы wp_posts и возвращает команду их восстановления.
+     * Команда записывается в файл до удаления индексов.
+     */
+    private String dropSecondaryIndexes() throws SQLException {
+        Map<String, IndexDefinition> indexes = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW INDEX FROM " + TABLE_NAME)) {
+            Set<String> columns = columnLabels(resultSet.getMetaData());
+            while (resultSet.next()) {
+                String indexName = resultSet.getString("Key_name");
+                if ("PRIMARY".equals(indexName)) {
+                    continue;
+                }
+                IndexDefinition index = indexes.get(indexName);
+                if (index == null) {
+                    index = IndexDefinition.read(resultSet, columns);
+                    indexes.put(indexName, index);
+                }
+                index.addPart(resultSet, columns);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return null;
+        }
+
+        List<String> drops = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        for (IndexDefinition index : indexes.values()) {
+            drops.add("DROP INDEX " + quote(index.name));
+            definitions.add(index.toDdl());
+        }
+        String restoreStatement = "ALTER TABLE " + TABLE_NAME + " " + String.join(", ", definitions);
+        try {
+            Files.createDirectories(INDEX_RESTORE_FILE.getParent());
+            Files.writeString(INDEX_RESTORE_FILE, restoreStatement + ";" + System.lineSeparator(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить команду восстановления индексов", e);
+        }
+        RunReport.attach("Восстановление индексов " + TABLE_NAME, restoreStatement);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE_NAME + " " + String.join(", ", drops));
+        }
+        return restoreStatement;
+    }
+
+    private void restoreIndexes(String restoreStatement) throws SQLException {
+        if (restoreStatement == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(restoreStatement);
+        }
+        try {
+            Files.deleteIfExists(INDEX_RESTORE_FILE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось удалить " + INDEX_RESTORE_FILE, e);
+        }
+    }
+
+    private static Set<String> columnLabels(ResultSetMetaData metaData) throws SQLException {
+        Set<String> labels = new HashSet<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            labels.add(metaData.getColumnLabel(i));
+        }
+        return labels;
+    }
+
+    private static String quote(String identifier) {
+        return "`" + identifier.replace("`", "``") + "`";
+    }
+
+    private static void appendField(StringBuilder row, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\\' -> row.append("\\\\");
+                default -> row.append(c);
+            }
+        }
+        row.append('\t');
+    }
+
+    /**
+     * Поток строк в формате LOAD DATA, генерирующий посты по мере чтения драйвером.
+     */
+    private final class GeneratedPostStream extends InputStream {
+        private final long totalRows;
+        private final Progress progress;
+        private final String now = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date());
+        private final StringBuilder row = new StringBuilder(16384);
+        private final StringBuilder content = new StringBuilder(16384);
+        private final StringBuilder title = new StringBuilder(128);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private long producedRows;
+
+        private GeneratedPostStream(long totalRows, Progress progress) {
+            this.totalRows = totalRows;
+            this.progress = progress;
+        }
+
+        @Override
+        public int read() {
+            if (!ensureData()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int copied = 0;
+            while (copied < length && ensureData()) {
+                int chunk = Math.min(length - copied, buffer.length - position);
+                System.arraycopy(buffer, position, target, offset + copied, chunk);
+                position += chunk;
+                copied += chunk;
+            }
+            return copied == 0 ? -1 : copied;
+        }
+
+        private boolean ensureData() {
+            if (position < buffer.length) {
+                return true;
+            }
+            if (producedRows == totalRows) {
+                return false;
+            }
+            buffer = nextRow();
+            position = 0;
+            producedRows++;
+            progress.reached(producedRows);
+            return true;
+        }
+
+        private byte[] nextRow() {
+            row.setLength(0);
+            appendField(row, "1");
+            appendField(row, now);
+            appendField(row, now);
+            content.setLength(0);
+            title.setLength(0);
+            appendField(row, generator.appendPostContent(content));
+            // Заголовок состоит из букв и пробелов, не требует экранирования и пишется прямо в буфер строки.
+            row.append(generator.appendTitle(title)).append('\t');
+            appendField(row, "");
+            appendField(row, "publish");
+            appendField(row, "open");
+            appendField(row, "open");
+            appendField(row, "");
+            appendField(row, generator.generateSlug(title));
+            appendField(row, "");
+            appendField(row, "");
+            appendField(row, now);
+            appendField(row, now);
+            appendField(row, "");
+            appendField(row, "0");
+            appendField(row, SEED_GUID);
+            appendField(row, "0");
+            appendField(row, "post");
+            appendField(row, "");
+            row.append('0').append('\n');
+            return row.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Получатель сообщений о ходе загрузки.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Вызывается каждые {@code progressInterval} строк в потоке загрузки.
+         *
+         * @param rows          Количество отправленных строк.
+         * @param rowsPerSecond Скорость за последний интервал, строк в секунду.
+         */
+        void onProgress(long rows, double rowsPerSecond);
+    }
+
+    /**
+     * Ход одной загрузки: сообщает получателю о каждом пройденном интервале и ведет журнал для отчета.
+     */
+    private final class Progress {
+        private final long start = System.nanoTime();
+        private final StringBuilder log = new StringBuilder();
+        private long nextReport = progressInterval;
+        private long lastRows;
+        private long lastNanos = start;
+
+        private void reached(long rows) {
+            if (rows < nextReport) {
+                return;
+            }
+            long now = System.nanoTime();
+            double rowsPerSecond = now == lastNanos ? 0 : (rows - lastRows) / ((now - lastNanos) / 1e9);
+            log.append(String.format("%d строк, %.0f строк/с", rows, rowsPerSecond)).append(System.lineSeparator());
+            progressListener.onProgress(rows, rowsPerSecond);
+            lastRows = rows;
+            lastNanos = now;
+            nextReport = (rows / progressInterval + 1) * progressInterval;
+        }
+    }
+
+    /**
+     * Вторичный индекс по строкам {@code SHOW INDEX}: тип, уникальность, порядок и префиксы столбцов,
+     * выражения функциональных индексов, комментарий и видимость.
+     */
+    private static final class IndexDefinition {
+        private final String name;
+        private final boolean unique;
+        private final String type;
+        private final String comment;
+        private final boolean visible;
+        private final List<String> parts = new ArrayList<>();
+
+        private IndexDefinition(String name, boolean unique, String type, String comment, boolean visible) {
+            this.name = name;
+            this.unique = unique;
+            this.type = type;
+            this.comment = comment;
+            this.visible = visible;
+        }
+
+        private static IndexDefinition read(ResultSet resultSet, Set<String> columns) throws SQLException {
+            String comment = columns.contains("Index_comment") ? resultSet.getString("Index_comment") : null;
+            // Столбец Visible есть начиная с MySQL 8.0.13.
+            boolean visible = !columns.contains("Visible") || !"NO".equals(resultSet.getString("Visible"));
+            return new IndexDefinition(resultSet.getString("Key_name"), resultSet.getInt("Non_unique") == 0,
+                    resultSet.getString("Index_type"), comment == null ? "" : comment, visible);
+        }
+
+        private void addPart(ResultSet resultSet, Set<String> columns) throws SQLException {
+            String expression = columns.contains("Expression") ? resultSet.getString("Expression") : null;
+            StringBuilder part = new StringBuilder();
+            if (expression != null) {
+                part.append('(').append(expression).append(')');
+            } else {
+                part.append(quote(resultSet.getString("Column_name")));
+                int subPart = resultSet.getInt("Sub_part");
+                if (!resultSet.wasNull()) {
+                    part.append('(').append(subPart).append(')');
+                }
+            }
+            if ("D".equals(resultSet.getString("Collation"))) {
+                part.append(" DESC");
+            }
+            parts.add(part.toString());
+        }
+
+        private String toDdl() {
+            StringBuilder ddl = new StringBuilder("ADD ");
+            boolean btreeOrHash = "BTREE".equals(type) || "HASH".equals(type);
+            if ("FULLTEXT".equals(type) || "SPATIAL".equals(type)) {
+                ddl.append(type).append(' ');
+            } else if (unique) {
+                ddl.append("UNIQUE ");
+            }
+            ddl.append("INDEX ").append(quote(name)).append(" (").append(String.join(", ", parts)).append(')');
+            if (btreeOrHash) {
+                ddl.append(" USING ").append(type);
+            }
+            if (!comment.isEmpty()) {
+                ddl.append(" COMMENT '").append(comment.replace("\\", "\\\\").replace("'", "''")).append('\'');
+            }
+            if (!visible) {
+                ddl.append(" INVISIBLE");
+            }
+            return ddl.toString();
+        }
+    }
+
+    /**
+     * Итог загрузки постов.
+     *
+     * @param rows              Количество загруженных строк.
+     * @param elapsedNanos      Длительность загрузки вместе с восстановлением индексов, нс.
+     * @param indexRestoreNanos Длительность восстановления вторичных индексов, нс; 0, если они не удалялись.
+     */
+    public record SeedReport(long rows, long elapsedNanos, long indexRestoreNanos) {
+        /**
+         * Возвращает среднюю скорость загрузки.
+         *
+         * @return Строк в секунду.
+         */
+        public double rowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Загружено %d постов за %.1f с (%.0f строк/с), из них восстановление индексов %.1f с",
+                    rows, elapsedNanos / 1e9, rowsPerSecond(), indexRestoreNanos / 1e9);
+        }
+    }
+}
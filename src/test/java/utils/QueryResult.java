@@ -0,0 +1,100 @@
+package utils;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Результат запроса, который владеет своим выражением.
+ * <p>
+ * Закрытие результата закрывает и ResultSet, и выражение, из которого он получен,
+ * поэтому серверные курсоры не остаются открытыми после проверки.
+ * </p>
+ */
+public class QueryResult implements AutoCloseable {
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+
+    /**
+     * Выполняет запрос и создает результат, владеющий выражением.
+     *
+     * @param statement Подготовленное выражение с уже заданными параметрами.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public QueryResult(PreparedStatement statement) throws SQLException {
+        this.statement = statement;
+        try {
+            this.resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            statement.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Переходит к следующей строке результата.
+     *
+     * @return true, если строка есть.
+     * @throws SQLException Если возникает ошибка доступа к базе данных.
+     */
+    public boolean next() throws SQLException {
+        return resultSet.next();
+    }
+
+    /**
+     * Получает строковое значение столбца текущей строки.
+     *
+     * @param column Имя столбца.
+     * @return Значение столбца.
+     * @throws SQLException Если возникает ошибка доступа к базе данных.
+     */
+    public String getString(String column) throws SQLException {
+        return resultSet.getString(column);
+    }
+
+    /**
+     * Получает числовое значение столбца текущей строки.
+     *
+     * @param column Имя столбца.
+     * @return Значение столбца.
+     * @throws SQLException Если возникает ошибка доступа к базе данных.
+     */
+    public long getLong(String column) throws SQLException {
+        return resultSet.getLong(column);
+    }
+
+    /**
+     * Получает значение даты и времени столбца текущей строки.
+     *
+     * @param column Имя столбца.
+     * @return Значение столбца.
+     * @throws SQLException Если возникает ошибка доступа к базе данных.
+     */
+    public Timestamp getTimestamp(String column) throws SQLException {
+        return resultSet.getTimestamp(column);
+    }
+
+    /**
+     * Возвращает исходный ResultSet для чтения остальных типов столбцов.
+     *
+     * @return ResultSet запроса.
+     */
+    public ResultSet getResultSet() {
+        return resultSet;
+    }
+
+    /**
+     * Закрывает ResultSet и выражение запроса.
+     *
+     * @throws SQLException Если возникает ошибка при закрытии.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            resultSet.close();
+        } finally {
+            statement.close();
+        }
+    }
+}
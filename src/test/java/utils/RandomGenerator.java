@@ -1,10 +1,61 @@
 package utils;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Генератор тестовых данных.
+ * <p>
+ * Каждый поток получает собственный {@link SplittableRandom}, поэтому генерация не требует
+ * синхронизации и не создает объектов на каждый вызов. Потоки выводятся из общего зерна
+ * {@code -Dgenerator.seed}: при том же зерне поток с тем же порядковым номером выдает те же значения.
+ * Зерно прогона добавляется в {@link RunReport}.
+ * Уникальные слова содержат номер потока и его счетчик, поэтому не повторяются ни между потоками,
+ * ни внутри прогона; случайная часть защищает от совпадений с данными прошлых прогонов.
+ * </p>
+ * <p>
+ * Заголовки, ярлыки, отрывки и содержимое постов строятся по модели {@link ContentCorpus}. По умолчанию
+ * модель собирается один раз из ключей {@code corpus.*} конфигурации и разделяется всеми генераторами.
+ * </p>
+ */
 public class RandomGenerator {
-    private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final char[] CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
     private static final String DOMAIN = "example.com";
+    private static final int SLUG_MAX_LENGTH = 200;
+    private static final long SEED = Long.getLong("generator.seed", System.nanoTime() ^ System.currentTimeMillis());
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
+    private static final ThreadLocal<Worker> WORKER = ThreadLocal.withInitial(() -> new Worker(WORKER_COUNTER.incrementAndGet()));
+
+    static {
+        // В отчет прогона, а не в вывод: JMH загружает класс в каждом форке, где отчет не записывается.
+        RunReport.attach("Зерно генератора тестовых данных", "-Dgenerator.seed=" + SEED);
+    }
+
+    private final ContentCorpus corpus;
+
+    /**
+     * Создает генератор с моделью содержимого из конфигурации.
+     */
+    public RandomGenerator() {
+        this(DefaultCorpus.INSTANCE);
+    }
+
+    /**
+     * Создает генератор с заданной моделью содержимого.
+     *
+     * @param corpus Модель содержимого постов.
+     */
+    public RandomGenerator(ContentCorpus corpus) {
+        this.corpus = corpus;
+    }
+
+    /**
+     * Возвращает общее зерно, из которого выводятся генераторы потоков.
+     * @return Зерно прогона.
+     */
+    public static long seed() {
+        return SEED;
+    }
 
     /**
      * Генерирует случайное слово заданной длины.
@@ -12,24 +63,215 @@ public class RandomGenerator {
      * @return Случайное слово.
      */
     public String generateRandomWord(int length) {
-        Random random = new Random();
-        StringBuilder word = new StringBuilder(length);
+        Worker worker = WORKER.get();
+        char[] buffer = worker.buffer(length);
+        fill(worker.random, buffer, 0, length);
+        return new String(buffer, 0, length);
+    }
 
-        for (int i = 0; i < length; i++) {
-            int index = random.nextInt(CHARACTERS.length());
-            word.append(CHARACTERS.charAt(index));
-        }
+    /**
+     * Дописывает случайное слово в переданный буфер без промежуточных строк.
+     * @param target Буфер, который можно переиспользовать между вызовами.
+     * @param length Длина слова.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendRandomWord(StringBuilder target, int length) {
+        Worker worker = WORKER.get();
+        char[] buffer = worker.buffer(length);
+        fill(worker.random, buffer, 0, length);
+        return target.append(buffer, 0, length);
+    }
 
-        return word.toString();
+    /**
+     * Заполняет участок массива случайными буквами и цифрами.
+     * @param target Массив, который можно переиспользовать между вызовами.
+     * @param offset Начало участка.
+     * @param length Длина участка.
+     */
+    public void fillRandomChars(char[] target, int offset, int length) {
+        fill(WORKER.get().random, target, offset, length);
     }
 
     /**
-     * Генерирует случайный email.
-     * @return Случайный email.
+     * Генерирует слово, которое не повторяется ни в одном потоке в течение прогона.
+     * Уникальная часть состоит из строчных букв и цифр, поэтому слово остается уникальным и без учета
+     * регистра (логины и ярлыки WordPress). За ней следует случайная часть заданной длины.
+     * @param randomLength Длина случайной части.
+     * @return Уникальное слово.
+     */
+    public String generateUniqueWord(int randomLength) {
+        Worker worker = WORKER.get();
+        StringBuilder word = new StringBuilder(16 + randomLength);
+        appendCounter(word, worker.index);
+        appendCounter(word, worker.nextSequence());
+        return appendRandomWord(word, randomLength).toString();
+    }
+
+    /**
+     * Возвращает префикс пространства имен текущего потока-исполнителя.
+     * Префикс уникален для каждого потока, поэтому данные, созданные параллельными тестами,
+     * не пересекаются по уникальным столбцам.
+     * @return Префикс вида {@code w3_}.
+     */
+    public String workerNamespace() {
+        return WORKER.get().namespace;
+    }
+
+    /**
+     * Генерирует уникальное слово в пространстве имен текущего потока-исполнителя.
+     * @param length Длина случайной части слова.
+     * @return Слово с префиксом {@link #workerNamespace()}, счетчиком потока и случайной частью.
+     */
+    public String generateNamespacedWord(int length) {
+        Worker worker = WORKER.get();
+        StringBuilder word = new StringBuilder(worker.namespace.length() + 8 + length).append(worker.namespace);
+        appendCounter(word, worker.nextSequence());
+        return appendRandomWord(word, length).toString();
+    }
+
+    /**
+     * Генерирует уникальный email.
+     * @return Email с уникальной локальной частью.
      */
     public String generateRandomEmail() {
-        String localPart = generateRandomWord(8);
-        return localPart + "@" + DOMAIN;
+        return generateUniqueWord(6) + "@" + DOMAIN;
     }
 
+    /**
+     * Генерирует заголовок поста.
+     * @return Заголовок из слов словаря, первое слово с заглавной буквы.
+     */
+    public String generateTitle() {
+        return corpus.appendTitle(WORKER.get().random, new StringBuilder(64)).toString();
+    }
+
+    /**
+     * Генерирует уникальный ярлык по заголовку: ярлык заголовка и уникальный суффикс, как у WordPress
+     * для совпадающих заголовков. Суффикс тот же, что у {@link #generateUniqueWord(int)}.
+     * @param title Заголовок.
+     * @return Ярлык не длиннее 200 символов.
+     */
+    public String generateSlug(CharSequence title) {
+        Worker worker = WORKER.get();
+        StringBuilder slug = new StringBuilder(Math.min(title.length(), SLUG_MAX_LENGTH) + 1);
+        corpus.appendSlug(title, slug, SLUG_MAX_LENGTH - 20);
+        if (slug.length() > 0) {
+            slug.append('-');
+        }
+        appendCounter(slug, worker.index);
+        appendCounter(slug, worker.nextSequence());
+        return slug.toString();
+    }
+
+    /**
+     * Генерирует отрывок поста.
+     * @return Одно или несколько предложений без разметки.
+     */
+    public String generateExcerpt() {
+        return corpus.appendExcerpt(WORKER.get().random, new StringBuilder(256)).toString();
+    }
+
+    /**
+     * Генерирует содержимое поста в разметке блоков.
+     * @return Содержимое длиной от десятков байт до десятков КБ.
+     */
+    public String generatePostContent() {
+        return appendPostContent(new StringBuilder(4096)).toString();
+    }
+
+    /**
+     * Дописывает содержимое поста в разметке блоков в переданный буфер.
+     * @param target Буфер, который можно переиспользовать между постами.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendPostContent(StringBuilder target) {
+        return corpus.appendContent(WORKER.get().random, target);
+    }
+
+    /**
+     * Дописывает заголовок поста в переданный буфер.
+     * @param target Буфер, который можно переиспользовать между постами.
+     * @return Переданный буфер.
+     */
+    public StringBuilder appendTitle(StringBuilder target) {
+        return corpus.appendTitle(WORKER.get().random, target);
+    }
+
+    /**
+     * Выбирает число меток поста.
+     * @return Число меток.
+     */
+    public int generateTagCount() {
+        return corpus.sampleTagCount(WORKER.get().random);
+    }
+
+    /**
+     * Дописывает число в основании 36 с префиксом длины, чтобы последовательности таких чисел
+     * и следующая за ними случайная часть разбирались однозначно.
+     */
+    private static void appendCounter(StringBuilder target, long value) {
+        String digits = Long.toString(value, Character.MAX_RADIX);
+        target.append((char) ('a' + digits.length())).append(digits);
+    }
+
+    /**
+     * Берет по 6 бит из {@code nextLong()} на символ; значения вне алфавита отбрасываются.
+     */
+    private static void fill(SplittableRandom random, char[] target, int offset, int length) {
+        int position = offset;
+        int end = offset + length;
+        while (position < end) {
+            long bits = random.nextLong();
+            for (int i = 0; i < 10 && position < end; i++, bits >>>= 6) {
+                int index = (int) (bits & 63);
+                if (index < CHARACTERS.length) {
+                    target[position++] = CHARACTERS[index];
+                }
+            }
+        }
+    }
+
+    /**
+     * Финализатор MurmurHash3: разносит зерна соседних потоков, чтобы их последовательности не пересекались.
+     */
+    private static long mix64(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Модель содержимого по умолчанию; строится при первом обращении, словарь общий для всех генераторов.
+     */
+    private static final class DefaultCorpus {
+        private static final ContentCorpus INSTANCE = new ContentCorpus(new Config());
+    }
+
+    /**
+     * Состояние генератора одного потока.
+     */
+    private static final class Worker {
+        private final int index;
+        private final String namespace;
+        private final SplittableRandom random;
+        private char[] buffer = new char[32];
+        private long sequence;
+
+        private Worker(int index) {
+            this.index = index;
+            this.namespace = "w" + index + "_";
+            this.random = new SplittableRandom(mix64(SEED ^ mix64(index)));
+        }
+
+        private long nextSequence() {
+            return ++sequence;
+        }
+
+        private char[] buffer(int length) {
+            if (buffer.length < length) {
+                buffer = new char[Math.max(length, buffer.length * 2)];
+            }
+            return buffer;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package utils;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Расширение JUnit, которое после завершения всего прогона добавляет в {@link RunReport} итоги
+ * HTTP-запросов и один раз проверяет требования к задержке {@code sla.*}.
+ * <p>
+ * Замеры {@link EndpointTimings} накапливаются за весь прогон, поэтому проверка в каждом классе
+ * приписывала бы медленный запрос раннего класса всем следующим. Нарушение требований
+ * роняет прогон целиком, а не отдельный класс.
+ * </p>
+ */
+public class RequestStatsExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RequestStatsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(RunStats.class, key -> new RunStats(new Config()), RunStats.class);
+    }
+
+    /**
+     * Итоги, формируемые при закрытии корневого контекста JUnit.
+     */
+    private static final class RunStats implements ExtensionContext.Store.CloseableResource {
+        private final Config config;
+
+        private RunStats(Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public void close() {
+            if (EndpointTimings.totals().isEmpty()) {
+                return;
+            }
+            RunReport.attach("HTTP-соединения", KeepAliveHttpClient.report());
+            RunReport.attach("Задержки по эндпоинтам", EndpointTimings.summary());
+            RunReport.attach("Гистограммы задержек", EndpointTimings.histograms());
+            EndpointSla.assertAll(EndpointSla.fromConfig(config));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package utils;
+
+/**
+ * Фазы выполнения текущего HTTP-запроса, которые заполняют хуки {@link KeepAliveHttpClient}.
+ * <p>
+ * RestAssured выполняет запрос в вызывающем потоке, поэтому замер привязан к потоку:
+ * {@link TimingFilter} начинает его перед отправкой и забирает после получения ответа.
+ * </p>
+ */
+final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    final long startNanos = System.nanoTime();
+    long dnsNanos;
+    long connectNanos;
+    long firstByteNanos;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    static void addDns(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.dnsNanos += nanos;
+        }
+    }
+
+    static void addConnect(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.connectNanos += nanos;
+        }
+    }
+
+    static void markFirstByte() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.firstByteNanos == 0) {
+            timings.firstByteNanos = System.nanoTime() - timings.startNanos;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Декларативный контракт тела JSON-ответа: набор проверок вида «путь — матчер».
+ * <p>
+ * Пути разбираются один раз при сборке контракта в дерево, после чего ответ проверяется за
+ * один проход потокового парсера: поддеревья документа, не упомянутые в контракте, пропускаются,
+ * а все расхождения собираются и сообщаются вместе. Синтаксис путей совпадает с используемым
+ * в {@code body(path, matcher)}: имена через точку, индексы массивов {@code [0]} и имена
+ * в кавычках для полей со спецсимволами, например {@code _links."wp:post_type"[0].href}.
+ * </p>
+ *
+ * @param <C> Тип ожидаемых значений, из которых матчеры строятся при каждой проверке.
+ */
+public final class ResponseContract<C> {
+    private final List<Rule<C>> rules;
+    private final Node<C> root;
+
+    private ResponseContract(List<Rule<C>> rules) {
+        this.rules = List.copyOf(rules);
+        this.root = new Node<>();
+        for (Rule<C> rule : this.rules) {
+            Node<C> node = root;
+            for (Object segment : parsePath(rule.path())) {
+                node = segment instanceof Integer index
+                        ? node.indexes.computeIfAbsent(index, key -> new Node<>())
+                        : node.fields.computeIfAbsent((String) segment, key -> new Node<>());
+            }
+            node.rules.add(rule);
+        }
+    }
+
+    /**
+     * Создает построитель контракта.
+     *
+     * @param <C> Тип ожидаемых значений.
+     * @return Построитель контракта.
+     */
+    public static <C> Builder<C> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Проверяет тело ответа и падает со списком всех расхождений.
+     *
+     * @param response Ответ.
+     * @param expected Ожидаемые значения.
+     * @throws AssertionError Если тело ответа не соответствует контракту.
+     */
+    public void assertMatches(Response response, C expected) {
+        List<String> mismatches = mismatches(response.asByteArray(), expected);
+        if (!mismatches.isEmpty()) {
+            throw new AssertionError("Ответ не соответствует контракту (расхождений: " + mismatches.size() + "):\n"
+                    + String.join("\n", mismatches));
+        }
+    }
+
+    /**
+     * Проверяет тело ответа и возвращает все расхождения.
+     *
+     * @param body     Тело ответа в UTF-8.
+     * @param expected Ожидаемые значения.
+     * @return Описания расхождений; пустой список, если ответ соответствует контракту.
+     */
+    public List<String> mismatches(byte[] body, C expected) {
+        Map<Rule<C>, Object> values = new IdentityHashMap<>();
+        try (JsonParser parser = JsonTree.JSON.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token != null) {
+                visit(parser, token, root, values);
+            }
+        } catch (IOException e) {
+            return List.of("Тело ответа не является корректным JSON: " + e.getMessage());
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (Rule<C> rule : rules) {
+            Object actual = values.get(rule);
+            Matcher<?> matcher = rule.matcher().apply(expected);
+            if (!matcher.matches(actual)) {
+                Description description = new StringDescription()
+                        .appendText(rule.path()).appendText(": ожидалось ").appendDescriptionOf(matcher)
+                        .appendText(", но ");
+                matcher.describeMismatch(actual, description);
+                mismatches.add(description.toString());
+            }
+        }
+        return mismatches;
+    }
+
+    private static <C> void visit(JsonParser parser, JsonToken token, Node<C> node, Map<Rule<C>, Object> values)
+            throws IOException {
+        if (!node.rules.isEmpty()) {
+            // Значение нужно матчеру целиком, поэтому вложенные пути разрешаются по прочитанному значению.
+            resolve(JsonTree.read(parser, token), node, values);
+            return;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node<C> child = node.fields.get(parser.currentName());
+                JsonToken valueToken = parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, valueToken, child, values);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            JsonToken elementToken;
+            while ((elementToken = parser.nextToken()) != JsonToken.END_ARRAY) {
+                Node<C> child = node.indexes.get(index++);
+                if (child == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, elementToken, child, values);
+                }
+            }
+        }
+    }
+
+    private static <C> void resolve(Object value, Node<C> node, Map<Rule<C>, Object> values) {
+        for (Rule<C> rule : node.rules) {
+            values.put(rule, value);
+        }
+        if (value instanceof Map<?, ?> object) {
+            node.fields.forEach((name, child) -> {
+                if (object.containsKey(name)) {
+                    resolve(object.get(name), child, values);
+                }
+            });
+        } else if (value instanceof List<?> array) {
+            node.indexes.forEach((index, child) -> {
+                if (index < array.size()) {
+                    resolve(array.get(index), child, values);
+                }
+            });
+        }
+    }
+
+    private static List<Object> parsePath(String path) {
+        List<Object> segments = new ArrayList<>();
+        StringBuilder name = new StringBuilder();
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '"') {
+                int end = path.indexOf('"', i + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Незакрытая кавычка в пути " + path);
+                }
+                name.append(path, i + 1, end);
+                i = end + 1;
+            } else if (c == '.' || c == '[') {
+                if (name.length() > 0) {
+                    segments.add(name.toString());
+                    name.setLength(0);
+                }
+                if (c == '[') {
+                    int end = path.indexOf(']', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Незакрытый индекс в пути " + path);
+                    }
+                    segments.add(Integer.parseInt(path.substring(i + 1, end)));
+                    i = end;
+                }
+                i++;
+            } else {
+                name.append(c);
+                i++;
+            }
+        }
+        if (name.length() > 0) {
+            segments.add(name.toString());
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("Пустой путь");
+        }
+        return segments;
+    }
+
+    /**
+     * Построитель контракта.
+     *
+     * @param <C> Тип ожидаемых значений.
+     */
+    public static final class Builder<C> {
+        private final List<Rule<C>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Добавляет проверку с постоянным матчером.
+         *
+         * @param path    Путь к значению.
+         * @param matcher Матчер.
+         * @return Этот построитель.
+         */
+        public Builder<C> body(String path, Matcher<?> matcher) {
+            return body(path, expected -> matcher);
+        }
+
+        /**
+         * Добавляет проверку с матчером, зависящим от ожидаемых значений.
+         *
+         * @param path    Путь к значению.
+         * @param matcher Функция, строящая матчер по ожидаемым значениям.
+         * @return Этот построитель.
+         */
+        public Builder<C> body(String path, Function<? super C, Matcher<?>> matcher) {
+            rules.add(new Rule<>(path, matcher));
+            return this;
+        }
+
+        /**
+         * Собирает контракт, разбирая пути всех проверок.
+         *
+         * @return Контракт.
+         */
+        public ResponseContract<C> build() {
+            return new ResponseContract<>(rules);
+        }
+    }
+
+    private record Rule<C>(String path, Function<? super C, Matcher<?>> matcher) {
+    }
+
+    private static final class Node<C> {
+        private final Map<String, Node<C>> fields = new HashMap<>();
+        private final Map<Integer, Node<C>> indexes = new HashMap<>();
+        private final List<Rule<C>> rules = new ArrayList<>();
+    }
+}
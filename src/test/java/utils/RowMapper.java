@@ -0,0 +1,42 @@
+package utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Преобразует текущую строку ResultSet в типизированный объект.
+ * <p>
+ * Реализации создаются для конкретного ResultSet и определяют индексы столбцов
+ * один раз, а не при чтении каждой строки.
+ * </p>
+ *
+ * @param <T> Тип результата.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Преобразует текущую строку.
+     *
+     * @param resultSet ResultSet, установленный на строку.
+     * @return Объект строки.
+     * @throws SQLException Если возникает ошибка доступа к базе данных.
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+
+    /**
+     * Создает преобразователь для столбцов конкретного ResultSet.
+     *
+     * @param <T> Тип результата.
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        /**
+         * Определяет индексы столбцов и возвращает преобразователь.
+         *
+         * @param resultSet ResultSet запроса.
+         * @return Преобразователь строк этого ResultSet.
+         * @throws SQLException Если в ResultSet нет нужного столбца.
+         */
+        RowMapper<T> bind(ResultSet resultSet) throws SQLException;
+    }
+}
@@ -0,0 +1,109 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка наличия и отсутствия конкретных строк по первичному ключу.
+ * <p>
+ * В отличие от сравнения {@code COUNT(*)} до и после операции, проверка затрагивает только
+ * переданные ID, поэтому ее стоимость не зависит от размера таблицы, а результат не
+ * искажается строками, которые параллельно создают другие тесты.
+ * </p>
+ */
+public class RowVerifier {
+    private static final int MAX_IDS_PER_QUERY = 512;
+
+    private final Connection connection;
+
+    /**
+     * Создает проверку для заданного соединения.
+     *
+     * @param connection Соединение с базой данных.
+     */
+    public RowVerifier(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Проверяет, что все строки с указанными ID есть в таблице.
+     *
+     * @param tableName Имя таблицы.
+     * @param idColumn  Имя столбца первичного ключа.
+     * @param ids       Проверяемые ID.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public void assertExist(String tableName, String idColumn, int... ids) throws SQLException {
+        Set<Integer> missing = toSet(ids);
+        missing.removeAll(findExistingIds(tableName, idColumn, ids));
+        assertTrue(missing.isEmpty(), "В таблице " + tableName + " не найдены строки с ID " + missing);
+    }
+
+    /**
+     * Проверяет, что ни одной строки с указанными ID нет в таблице.
+     *
+     * @param tableName Имя таблицы.
+     * @param idColumn  Имя столбца первичного ключа.
+     * @param ids       Проверяемые ID.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public void assertAbsent(String tableName, String idColumn, int... ids) throws SQLException {
+        Set<Integer> found = findExistingIds(tableName, idColumn, ids);
+        assertTrue(found.isEmpty(), "В таблице " + tableName + " остались строки с ID " + found);
+    }
+
+    /**
+     * Возвращает те из указанных ID, для которых в таблице есть строки.
+     * ID проверяются пакетами через {@code WHERE id IN (...)}.
+     *
+     * @param tableName Имя таблицы.
+     * @param idColumn  Имя столбца первичного ключа.
+     * @param ids       Проверяемые ID.
+     * @return Найденные ID.
+     * @throws SQLException Если возникает ошибка при выполнении SQL-запроса.
+     */
+    public Set<Integer> findExistingIds(String tableName, String idColumn, int... ids) throws SQLException {
+        TableMetadata table = TableMetadata.of(connection, tableName);
+        String column = table.column(idColumn).quotedName();
+        Set<Integer> found = new HashSet<>();
+        int[] distinct = toSet(ids).stream().mapToInt(Integer::intValue).toArray();
+        for (int start = 0; start < distinct.length; start += MAX_IDS_PER_QUERY) {
+            int[] chunk = Arrays.copyOfRange(distinct, start, Math.min(start + MAX_IDS_PER_QUERY, distinct.length));
+            int placeholders = placeholderCount(chunk.length);
+            String query = "SELECT " + column + " FROM " + table.quotedName() + " WHERE " + column
+                    + " IN (" + "?, ".repeat(placeholders - 1) + "?)";
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 0; i < placeholders; i++) {
+                    // Недостающие параметры повторяют последний ID, чтобы число вариантов SQL было небольшим.
+                    statement.setInt(i + 1, chunk[Math.min(i, chunk.length - 1)]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        found.add(resultSet.getInt(1));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int placeholderCount(int ids) {
+        return Math.min(Integer.highestOneBit(Math.max(ids - 1, 1)) << 1, MAX_IDS_PER_QUERY);
+    }
+
+    private static Set<Integer> toSet(int[] ids) {
+        Set<Integer> set = new LinkedHashSet<>();
+        for (int id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
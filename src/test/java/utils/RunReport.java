@@ -0,0 +1,106 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Отчет уровня прогона: вложения, которые не относятся к конкретному тесту.
+ * <p>
+ * {@code Allure.addAttachment} вне выполняющегося теста отбрасывает вложение, поэтому метрики пулов,
+ * итоги замеров и сообщения фоновых потоков копятся здесь и записываются один раз после всех тестов
+ * расширением {@link RunReportExtension}: в {@code target/run-report.txt} и в отчет Allure отдельным
+ * результатом «Итоги прогона».
+ * </p>
+ */
+public final class RunReport {
+    private static final Path REPORT_FILE = Paths.get("target", "run-report.txt");
+    private static final Queue<Section> SECTIONS = new ConcurrentLinkedQueue<>();
+
+    private RunReport() {
+    }
+
+    /**
+     * Добавляет готовое вложение.
+     *
+     * @param name    Имя вложения.
+     * @param content Текст вложения.
+     */
+    public static void attach(String name, String content) {
+        SECTIONS.add(new Section(name, () -> content));
+    }
+
+    /**
+     * Добавляет вложение, текст которого строится в конце прогона, например итоговые счетчики.
+     *
+     * @param name    Имя вложения.
+     * @param content Источник текста; вызывается один раз при записи отчета.
+     */
+    public static void attachAtEnd(String name, Supplier<String> content) {
+        SECTIONS.add(new Section(name, content));
+    }
+
+    /**
+     * Записывает накопленные вложения и очищает их. Ничего не делает, если вложений нет.
+     *
+     * @throws IOException Если не удалось записать файл отчета.
+     */
+    static void flush() throws IOException {
+        List<String[]> rendered = new ArrayList<>();
+        Section section;
+        while ((section = SECTIONS.poll()) != null) {
+            String content;
+            try {
+                content = section.content().get();
+            } catch (RuntimeException e) {
+                content = "Не удалось построить вложение: " + e;
+            }
+            rendered.add(new String[]{section.name(), content});
+        }
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        StringBuilder file = new StringBuilder();
+        for (String[] attachment : rendered) {
+            file.append("== ").append(attachment[0]).append(" ==").append(System.lineSeparator())
+                    .append(attachment[1]).append(System.lineSeparator());
+        }
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.writeString(REPORT_FILE, file, StandardCharsets.UTF_8);
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("run-report")
+                .setName("Итоги прогона")
+                .setFullName("run-report")
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(new Label().setName("suite").setValue("Итоги прогона"))));
+        lifecycle.startTestCase(uuid);
+        for (String[] attachment : rendered) {
+            lifecycle.addAttachment(attachment[0], "text/plain", ".txt",
+                    attachment[1].getBytes(StandardCharsets.UTF_8));
+        }
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    private record Section(String name, Supplier<String> content) {
+    }
+}
@@ -0,0 +1,34 @@
+package utils;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+
+/**
+ * Расширение JUnit, которое записывает {@link RunReport} после завершения всего прогона.
+ * <p>
+ * Ресурсы корневого контекста закрываются в порядке, обратном регистрации, поэтому расширение
+ * указывается в {@code @ExtendWith} первым: оно закрывается последним и забирает вложения,
+ * добавленные при закрытии остальных расширений.
+ * </p>
+ */
+public class RunReportExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RunReportExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(Flush.class, key -> new Flush(), Flush.class);
+    }
+
+    /**
+     * Запись отчета при закрытии корневого контекста JUnit.
+     */
+    private static final class Flush implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() throws IOException {
+            RunReport.flush();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Кэш подготовленных выражений одного физического соединения, ключом служит текст SQL.
+ * <p>
+ * Выражение подготавливается на сервере один раз; вызов {@code close()} у выданного выражения
+ * закрывает его открытый ResultSet и возвращает выражение в кэш вместо освобождения.
+ * Если выражение с тем же SQL уже используется или кэш заполнен занятыми выражениями,
+ * выдается обычное некэшируемое выражение, поэтому размер кэша не превышает {@code maxSize}.
+ * </p>
+ */
+public class StatementCache {
+    private final Connection physical;
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /**
+     * Создает кэш для физического соединения.
+     *
+     * @param physical Физическое соединение, на котором подготавливаются выражения.
+     * @param maxSize  Максимальное количество кэшируемых выражений.
+     * @param hits     Общий счетчик попаданий в кэш.
+     * @param misses   Общий счетчик промахов кэша.
+     */
+    public StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Выдает подготовленное выражение из кэша или подготавливает новое.
+     *
+     * @param owner             Соединение, которое вернет {@link Statement#getConnection()}.
+     * @param sql               Текст SQL-запроса.
+     * @param autoGeneratedKeys Режим возврата сгенерированных ключей.
+     * @return Подготовленное выражение.
+     * @throws SQLException Если не удалось подготовить выражение.
+     */
+    public synchronized PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            if (!makeRoom()) {
+                return physical.prepareStatement(sql, autoGeneratedKeys);
+            }
+            entry = new Entry(physical.prepareStatement(sql, autoGeneratedKeys));
+            entry.inUse = true;
+            entries.put(key, entry);
+        } else if (entry.inUse) {
+            misses.increment();
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        } else {
+            hits.increment();
+            entry.inUse = true;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new Handle(owner, entry));
+    }
+
+    /**
+     * Закрывает все кэшированные выражения.
+     */
+    public synchronized void close() {
+        for (Entry entry : entries.values()) {
+            closeQuietly(entry.statement);
+        }
+        entries.clear();
+    }
+
+    /**
+     * Вытесняет давно не использованные свободные выражения, пока в кэше нет места для нового.
+     *
+     * @return {@code false}, если места нет: все оставшиеся выражения заняты.
+     */
+    private boolean makeRoom() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+                iterator.remove();
+            }
+        }
+        return entries.size() < maxSize;
+    }
+
+    private synchronized void giveBack(Entry entry) {
+        entry.inUse = false;
+        if (!entries.containsValue(entry)) {
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Выражение больше не используется, ошибка закрытия не важна.
+        }
+    }
+
+    private record Key(String sql, int autoGeneratedKeys) {
+        private Key {
+            Objects.requireNonNull(sql);
+        }
+    }
+
+    private static final class Entry {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * Выданное кэшированное выражение: {@code close()} возвращает его в кэш.
+     */
+    private final class Handle implements InvocationHandler {
+        private final Connection owner;
+        private final Entry entry;
+        private ResultSet lastResultSet;
+        private boolean closed;
+
+        private Handle(Connection owner, Entry entry) {
+            this.owner = owner;
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            if (lastResultSet != null) {
+                                lastResultSet.close();
+                            }
+                            entry.statement.clearParameters();
+                            entry.statement.clearBatch();
+                        } finally {
+                            giveBack(entry);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Выражение уже закрыто.");
+            }
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet resultSet) {
+                    lastResultSet = resultSet;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
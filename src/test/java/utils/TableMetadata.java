@@ -0,0 +1,137 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Описание таблицы, прочитанное из {@link DatabaseMetaData}: столбцы, их JDBC-типы и первичный ключ.
+ * <p>
+ * Метаданные читаются один раз на таблицу и кэшируются. Имена таблиц и столбцов,
+ * которых нет в метаданных, отклоняются, поэтому в SQL попадают только известные идентификаторы.
+ * </p>
+ */
+public final class TableMetadata {
+    private static final Map<String, TableMetadata> CACHE = new ConcurrentHashMap<>();
+
+    private final String tableName;
+    private final String quotedName;
+    private final Map<String, Column> columns;
+    private final Column primaryKey;
+
+    private TableMetadata(String tableName, String quotedName, Map<String, Column> columns, Column primaryKey) {
+        this.tableName = tableName;
+        this.quotedName = quotedName;
+        this.columns = columns;
+        this.primaryKey = primaryKey;
+    }
+
+    /**
+     * Возвращает метаданные таблицы, при первом обращении читая их из базы данных.
+     *
+     * @param connection Соединение с базой данных.
+     * @param tableName  Имя таблицы.
+     * @return Метаданные таблицы.
+     * @throws SQLException             Если не удалось прочитать метаданные.
+     * @throws IllegalArgumentException Если таблицы нет в базе данных.
+     */
+    public static TableMetadata of(Connection connection, String tableName) throws SQLException {
+        String key = connection.getCatalog() + "." + tableName.toLowerCase(Locale.ROOT);
+        TableMetadata metadata = CACHE.get(key);
+        if (metadata == null) {
+            metadata = load(connection, tableName);
+            // EntityDao сравнивает метаданные по ссылке, поэтому все потоки получают экземпляр из кэша.
+            TableMetadata cached = CACHE.putIfAbsent(key, metadata);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Возвращает имя таблицы в экранированном виде для подстановки в SQL.
+     *
+     * @return Экранированное имя таблицы.
+     */
+    public String quotedName() {
+        return quotedName;
+    }
+
+    /**
+     * Возвращает столбец первичного ключа.
+     *
+     * @return Столбец первичного ключа.
+     */
+    public Column primaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * Возвращает столбец по имени без учета регистра.
+     *
+     * @param columnName Имя столбца.
+     * @return Столбец.
+     * @throws IllegalArgumentException Если такого столбца в таблице нет.
+     */
+    public Column column(String columnName) {
+        Column column = columns.get(columnName.toLowerCase(Locale.ROOT));
+        if (column == null) {
+            throw new IllegalArgumentException("В таблице " + tableName + " нет столбца " + columnName);
+        }
+        return column;
+    }
+
+    private static TableMetadata load(Connection connection, String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String quote = metaData.getIdentifierQuoteString().trim();
+        String catalog = connection.getCatalog();
+        String schema = connection.getSchema();
+        String pattern = tableName.replace("_", metaData.getSearchStringEscape() + "_");
+
+        String actualName = null;
+        Map<String, Column> columns = new LinkedHashMap<>();
+        try (ResultSet resultSet = metaData.getColumns(catalog, schema, pattern, null)) {
+            while (resultSet.next()) {
+                String name = resultSet.getString("TABLE_NAME");
+                if (!name.equalsIgnoreCase(tableName)) {
+                    continue;
+                }
+                actualName = name;
+                String columnName = resultSet.getString("COLUMN_NAME");
+                columns.put(columnName.toLowerCase(Locale.ROOT),
+                        new Column(columnName, quote + columnName + quote, resultSet.getInt("DATA_TYPE")));
+            }
+        }
+        if (actualName == null) {
+            throw new IllegalArgumentException("Неизвестная таблица: " + tableName);
+        }
+
+        Column primaryKey = null;
+        try (ResultSet resultSet = metaData.getPrimaryKeys(catalog, schema, actualName)) {
+            if (resultSet.next()) {
+                primaryKey = columns.get(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        if (primaryKey == null) {
+            throw new IllegalArgumentException("У таблицы " + tableName + " нет первичного ключа.");
+        }
+        return new TableMetadata(actualName, quote + actualName + quote, Collections.unmodifiableMap(columns), primaryKey);
+    }
+
+    /**
+     * Столбец таблицы.
+     *
+     * @param name       Имя столбца.
+     * @param quotedName Экранированное имя столбца для подстановки в SQL.
+     * @param jdbcType   Тип столбца из {@link java.sql.Types}.
+     */
+    public record Column(String name, String quotedName, int jdbcType) {
+    }
+}
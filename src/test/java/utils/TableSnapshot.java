@@ -0,0 +1,130 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Снимок таблиц WordPress для массового восстановления после прогона тестов.
+ * <p>
+ * Перед прогоном каждая таблица копируется через {@code CREATE TABLE ... LIKE} и
+ * {@code INSERT ... SELECT} во временную копию {@code capture_*}. Когда заполнены все копии, они
+ * одним {@code RENAME TABLE} получают имена {@code snapshot_*}, поэтому снимок никогда не содержит
+ * частично скопированную таблицу. После прогона копии атомарно подменяют рабочие таблицы одним
+ * {@code RENAME TABLE}, а таблицы с данными тестов удаляются, поэтому стоимость очистки
+ * не зависит от количества созданных строк. Если прошлый прогон прервался и копии остались
+ * для всех таблиц, сначала восстанавливается состояние из них; неполный набор копий и копии
+ * {@code capture_*} прерванного снимка удаляются.
+ * Длительность операций попадает в {@link RunReport}.
+ * </p>
+ */
+public class TableSnapshot {
+    /**
+     * Таблицы пользователей, постов и тегов вместе со связанными таблицами метаданных и таксономий.
+     */
+    public static final List<String> WORDPRESS_TABLES = List.of("wp_users", "wp_usermeta", "wp_posts", "wp_postmeta",
+            "wp_terms", "wp_termmeta", "wp_term_taxonomy", "wp_term_relationships");
+
+    private static final String SNAPSHOT_PREFIX = "snapshot_";
+    private static final String CAPTURE_PREFIX = "capture_";
+    private static final String DISCARD_PREFIX = "discard_";
+
+    private final Connection connection;
+    private final List<String> tables;
+
+    /**
+     * Создает снимок для указанных таблиц.
+     *
+     * @param connection Соединение с базой данных.
+     * @param tables     Имена таблиц.
+     */
+    public TableSnapshot(Connection connection, List<String> tables) {
+        this.connection = connection;
+        this.tables = tables;
+    }
+
+    /**
+     * Сохраняет копии таблиц. Полный набор копий, оставшийся от прерванного прогона, сначала
+     * восстанавливается; неполный набор и незавершенные копии прерванного снимка удаляются.
+     *
+     * @throws SQLException Если возникает ошибка при копировании таблиц.
+     */
+    public void capture() throws SQLException {
+        List<String> leftover = existingTables(SNAPSHOT_PREFIX);
+        if (leftover.size() == tables.size()) {
+            RunReport.attach("Снимок таблиц", "Найден снимок прерванного прогона, таблицы восстановлены из него.");
+            restore();
+        } else if (!leftover.isEmpty()) {
+            RunReport.attach("Снимок таблиц", "Удален неполный снимок прерванного прогона: " + leftover);
+            drop(leftover);
+        }
+        drop(existingTables(DISCARD_PREFIX));
+        drop(existingTables(CAPTURE_PREFIX));
+        long start = System.nanoTime();
+        List<String> renames = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                TableMetadata.of(connection, table);
+                statement.execute("CREATE TABLE " + CAPTURE_PREFIX + table + " LIKE " + table);
+                statement.execute("INSERT INTO " + CAPTURE_PREFIX + table + " SELECT * FROM " + table);
+                renames.add(CAPTURE_PREFIX + table + " TO " + SNAPSHOT_PREFIX + table);
+            }
+            // Копии становятся снимком только все вместе и только после того, как каждая заполнена.
+            statement.execute("RENAME TABLE " + String.join(", ", renames));
+        }
+        RunReport.attach("Снимок таблиц", String.format("Снимок таблиц %s сохранен за %.2f с",
+                tables, (System.nanoTime() - start) / 1e9));
+    }
+
+    /**
+     * Подменяет рабочие таблицы сохраненными копиями и удаляет таблицы с данными тестов.
+     *
+     * @throws SQLException Если возникает ошибка при восстановлении таблиц.
+     */
+    public void restore() throws SQLException {
+        long start = System.nanoTime();
+        List<String> renames = new ArrayList<>();
+        List<String> discarded = new ArrayList<>();
+        for (String table : tables) {
+            renames.add(table + " TO " + DISCARD_PREFIX + table);
+            renames.add(SNAPSHOT_PREFIX + table + " TO " + table);
+            discarded.add(DISCARD_PREFIX + table);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RENAME TABLE " + String.join(", ", renames));
+            statement.execute("DROP TABLE " + String.join(", ", discarded));
+        }
+        RunReport.attach("Восстановление таблиц", String.format("Таблицы %s восстановлены из снимка за %.2f с",
+                tables, (System.nanoTime() - start) / 1e9));
+    }
+
+    /**
+     * Возвращает существующие копии таблиц с указанным префиксом.
+     */
+    private List<String> existingTables(String prefix) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String> existing = new ArrayList<>();
+        for (String table : tables) {
+            String pattern = (prefix + table).replace("_", metaData.getSearchStringEscape() + "_");
+            try (ResultSet resultSet = metaData.getTables(connection.getCatalog(), connection.getSchema(), pattern, null)) {
+                if (resultSet.next()) {
+                    existing.add(prefix + table);
+                }
+            }
+        }
+        return existing;
+    }
+
+    private void drop(List<String> tableNames) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + String.join(", ", tableNames));
+        }
+    }
+}
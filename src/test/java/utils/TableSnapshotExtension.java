@@ -0,0 +1,58 @@
+package utils;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Расширение JUnit, которое снимает снимок таблиц WordPress перед первым тестовым классом
+ * и восстанавливает их после завершения всего прогона.
+ * <p>
+ * Включается свойством {@code db.snapshot=true}; без него ничего не делает.
+ * </p>
+ */
+public class TableSnapshotExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TableSnapshotExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Config config = new Config();
+        if (!Boolean.parseBoolean(config.getProperty("db.snapshot"))) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SuiteSnapshot.class, key -> {
+            try {
+                return new SuiteSnapshot(config);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Не удалось сохранить снимок таблиц WordPress.", e);
+            }
+        }, SuiteSnapshot.class);
+    }
+
+    /**
+     * Снимок на время прогона: восстанавливается при закрытии корневого контекста JUnit.
+     */
+    private static final class SuiteSnapshot implements ExtensionContext.Store.CloseableResource {
+        private final Connection connection;
+        private final TableSnapshot snapshot;
+
+        private SuiteSnapshot(Config config) throws SQLException {
+            connection = DriverManager.getConnection(config.getProperty("db.url"),
+                    config.getProperty("db.user"), config.getProperty("db.password"));
+            snapshot = new TableSnapshot(connection, TableSnapshot.WORDPRESS_TABLES);
+            snapshot.capture();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                snapshot.restore();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
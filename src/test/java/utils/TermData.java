@@ -0,0 +1,11 @@
+package utils;
+
+/**
+ * Данные для вставки тега в таблицу wp_terms.
+ *
+ * @param termName  Название тега.
+ * @param termSlug  Слаг тега.
+ * @param termGroup Группа тега.
+ */
+public record TermData(String termName, String termSlug, long termGroup) {
+}
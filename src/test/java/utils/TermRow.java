@@ -0,0 +1,21 @@
+package utils;
+
+/**
+ * Строка таблицы wp_terms.
+ *
+ * @param termId ID тега.
+ * @param data   Данные тега.
+ */
+public record TermRow(int termId, TermData data) {
+    /**
+     * Преобразователь строк wp_terms.
+     */
+    public static final RowMapper.Factory<TermRow> MAPPER = resultSet -> {
+        int termId = resultSet.findColumn("term_id");
+        int name = resultSet.findColumn("name");
+        int slug = resultSet.findColumn("slug");
+        int termGroup = resultSet.findColumn("term_group");
+        return rs -> new TermRow(rs.getInt(termId),
+                new TermData(rs.getString(name), rs.getString(slug), rs.getLong(termGroup)));
+    };
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Контекст одного теста: спецификация запросов и ID созданных им сущностей.
+ * <p>
+ * Создается заново для каждого теста и не разделяется между потоками, поэтому
+ * при параллельном запуске каждый тест удаляет только то, что создал сам.
+ * Спецификация теста строится поверх общей: заголовки, параметры и фильтры,
+ * добавленные тестом, не видны другим тестам.
+ * Удаление выполняется в фоне через {@link CleanupQueue}.
+ * </p>
+ */
+public final class TestContext {
+    private final RequestSpecification requestSpec;
+    private final CleanupQueue cleanupQueue;
+    private final CleanupQueue.Target users;
+    private final CleanupQueue.Target tags;
+    private final CleanupQueue.Target posts;
+    private final Deque<Created> created = new ArrayDeque<>();
+
+    /**
+     * Создает контекст теста.
+     *
+     * @param requestSpec  Общая спецификация запросов, на основе которой строится спецификация теста.
+     * @param cleanupQueue Очередь удаления созданных сущностей.
+     * @param config       Конфигурация тестов с путями API.
+     */
+    public TestContext(RequestSpecification requestSpec, CleanupQueue cleanupQueue, Config config) {
+        this.requestSpec = new RequestSpecBuilder().addRequestSpecification(requestSpec).build();
+        this.cleanupQueue = cleanupQueue;
+        this.users = new CleanupQueue.Target(config.getProperty("api.users"), "force=true&reassign=1");
+        this.tags = new CleanupQueue.Target(config.getProperty("api.tags"), "force=true");
+        this.posts = new CleanupQueue.Target(config.getProperty("api.posts"), "");
+    }
+
+    /**
+     * Возвращает спецификацию запросов теста.
+     *
+     * @return Спецификация запросов.
+     */
+    public RequestSpecification requestSpec() {
+        return requestSpec;
+    }
+
+    /**
+     * Запоминает созданного пользователя для удаления после теста.
+     *
+     * @param id ID пользователя.
+     * @return Тот же ID.
+     */
+    public int trackUser(int id) {
+        created.push(new Created(Kind.USER, id));
+        return id;
+    }
+
+    /**
+     * Запоминает созданную метку для удаления после теста.
+     *
+     * @param id ID метки.
+     * @return Тот же ID.
+     */
+    public int trackTag(int id) {
+        created.push(new Created(Kind.TAG, id));
+        return id;
+    }
+
+    /**
+     * Запоминает созданный пост для удаления после теста.
+     *
+     * @param id ID поста.
+     * @return Тот же ID.
+     */
+    public int trackPost(int id) {
+        created.push(new Created(Kind.POST, id));
+        return id;
+    }
+
+    /**
+     * Ставит запомненные сущности в очередь на удаление, сгруппировав их по виду,
+     * в порядке, обратном созданию. Тест не ждет удаления.
+     */
+    public void cleanup() {
+        Map<Kind, List<Integer>> idsByKind = new EnumMap<>(Kind.class);
+        while (!created.isEmpty()) {
+            Created entity = created.pop();
+            idsByKind.computeIfAbsent(entity.kind(), kind -> new ArrayList<>()).add(entity.id());
+        }
+        idsByKind.forEach((kind, idList) -> {
+            int[] ids = idList.stream().mapToInt(Integer::intValue).toArray();
+            switch (kind) {
+                case USER -> cleanupQueue.enqueue(users, ids);
+                case TAG -> cleanupQueue.enqueue(tags, ids);
+                case POST -> cleanupQueue.enqueue(posts, ids);
+            }
+        });
+    }
+
+    private enum Kind {
+        USER, TAG, POST
+    }
+
+    private record Created(Kind kind, int id) {
+    }
+}
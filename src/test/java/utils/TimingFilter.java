@@ -0,0 +1,75 @@
+package utils;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Фильтр RestAssured, записывающий замеры каждого запроса в {@link EndpointTimings}.
+ * <p>
+ * Запросы группируются по методу и маршруту {@code rest_route}, в котором числовые
+ * сегменты заменены на {@code {id}}: {@code GET /wp/v2/users/{id}}.
+ * </p>
+ */
+public class TimingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            Response response = context.next(requestSpec, responseSpec);
+            long totalNanos = System.nanoTime() - timings.startNanos;
+            long firstByteNanos = timings.firstByteNanos == 0 ? totalNanos : timings.firstByteNanos;
+            EndpointTimings.record(endpoint(requestSpec.getMethod(), requestSpec.getURI()), timings.dnsNanos,
+                    timings.connectNanos, firstByteNanos, totalNanos, response.asByteArray().length);
+            return response;
+        } finally {
+            RequestTimings.finish();
+        }
+    }
+
+    /**
+     * Строит имя эндпоинта по методу и URI запроса.
+     *
+     * @param method HTTP-метод.
+     * @param uri    Полный URI запроса.
+     * @return Имя эндпоинта, например {@code GET /wp/v2/users/{id}}.
+     */
+    public static String endpoint(String method, String uri) {
+        String route = null;
+        int query = uri.indexOf('?');
+        if (query >= 0) {
+            for (String parameter : uri.substring(query + 1).split("&")) {
+                if (parameter.startsWith("rest_route=")) {
+                    route = URLDecoder.decode(parameter.substring("rest_route=".length()), StandardCharsets.UTF_8);
+                    break;
+                }
+            }
+        }
+        if (route == null) {
+            route = URI.create(uri).getPath();
+        }
+        return method + " " + normalize(route);
+    }
+
+    private static String normalize(String route) {
+        StringBuilder normalized = new StringBuilder();
+        if (route == null) {
+            return "/";
+        }
+        for (String segment : route.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            normalized.append('/').append(segment.chars().allMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return normalized.length() == 0 ? "/" : normalized.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package utils;
+
+import java.sql.Date;
+
+/**
+ * Данные для вставки пользователя в таблицу wp_users.
+ *
+ * @param userLogin         Логин пользователя.
+ * @param userPass          Пароль пользователя.
+ * @param userNiceName      Приятное имя пользователя.
+ * @param userEmail         Email пользователя.
+ * @param userUrl           URL пользователя.
+ * @param userRegistered    Дата регистрации пользователя.
+ * @param userActivationKey Ключ активации пользователя.
+ * @param userStatus        Статус пользователя.
+ * @param displayName       Имя, которое отображается.
+ */
+public record UserData(String userLogin, String userPass, String userNiceName, String userEmail, String userUrl,
+                       Date userRegistered, String userActivationKey, int userStatus, String displayName) {
+}
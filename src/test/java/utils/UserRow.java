@@ -0,0 +1,28 @@
+package utils;
+
+/**
+ * Строка таблицы wp_users.
+ *
+ * @param id   ID пользователя.
+ * @param data Данные пользователя.
+ */
+public record UserRow(int id, UserData data) {
+    /**
+     * Преобразователь строк wp_users.
+     */
+    public static final RowMapper.Factory<UserRow> MAPPER = resultSet -> {
+        int id = resultSet.findColumn("ID");
+        int userLogin = resultSet.findColumn("user_login");
+        int userPass = resultSet.findColumn("user_pass");
+        int userNiceName = resultSet.findColumn("user_nicename");
+        int userEmail = resultSet.findColumn("user_email");
+        int userUrl = resultSet.findColumn("user_url");
+        int userRegistered = resultSet.findColumn("user_registered");
+        int userActivationKey = resultSet.findColumn("user_activation_key");
+        int userStatus = resultSet.findColumn("user_status");
+        int displayName = resultSet.findColumn("display_name");
+        return rs -> new UserRow(rs.getInt(id), new UserData(rs.getString(userLogin), rs.getString(userPass),
+                rs.getString(userNiceName), rs.getString(userEmail), rs.getString(userUrl), rs.getDate(userRegistered),
+                rs.getString(userActivationKey), rs.getInt(userStatus), rs.getString(displayName)));
+    };
+}
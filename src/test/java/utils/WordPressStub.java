@@ -0,0 +1,851 @@
+package utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Встроенный заменитель WordPress REST API для герметичных и быстрых прогонов.
+ * <p>
+ * Эмулирует маршруты {@code ?rest_route=/wp/v2/users/}, {@code /posts/}, {@code /tags/} и {@code /batch/v1}:
+ * создание, получение, обновление и удаление, постраничные коллекции с {@code X-WP-Total},
+ * {@code users/me}, проверку заголовка {@code Authorization} и тела ошибок WordPress.
+ * Данные хранятся в конкурентных словарях в памяти, ответы пишутся потоковым генератором
+ * jackson-core, поэтому заменитель выдерживает десятки тысяч запросов в секунду и позволяет
+ * профилировать клиентскую часть отдельно от сервера. Ссылки в ответах строятся от адреса
+ * {@code baseURI} из конфигурации, как их строил бы настоящий сайт.
+ * Запускается {@link WordPressStubExtension} при {@code stub.enabled=true}.
+ * </p>
+ */
+public final class WordPressStub implements AutoCloseable {
+    private static final Pattern ROUTE = Pattern.compile("/wp/v2/(users|posts|tags)(?:/(me|\\d+))?");
+    private static final Set<String> POST_STATUSES = Set.of("publish", "future", "draft", "pending", "private");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String GRAVATAR = "https://secure.gravatar.com/avatar/?s=%d&d=mm&r=g";
+    private static final int ADMIN_ID = 1;
+    private static final int BATCH_MAX_REQUESTS = 25;
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String token;
+    private final String site;
+    private final String restBase;
+    private final Map<Integer, User> users = new ConcurrentHashMap<>();
+    private final Map<String, Integer> usernames = new ConcurrentHashMap<>();
+    private final Map<String, Integer> emails = new ConcurrentHashMap<>();
+    private final Map<Integer, Post> posts = new ConcurrentHashMap<>();
+    private final Map<Integer, Tag> tags = new ConcurrentHashMap<>();
+    private final Map<String, Integer> tagNames = new ConcurrentHashMap<>();
+    private final AtomicInteger userIds = new AtomicInteger(ADMIN_ID);
+    private final AtomicInteger postIds = new AtomicInteger();
+    // Термин 1 занят рубрикой «Без рубрики», как в чистой установке WordPress.
+    private final AtomicInteger termIds = new AtomicInteger(1);
+
+    private WordPressStub(Config config) throws IOException {
+        token = config.getProperty("token");
+        String baseUri = config.getProperty("baseURI");
+        site = baseUri.substring(0, baseUri.lastIndexOf('/') + 1);
+        restBase = site + "index.php?rest_route=";
+        String now = now();
+        User admin = new User(ADMIN_ID, adminUsername(token), adminUsername(token), config.getProperty("stub.adminEmail"),
+                "", "administrator", now);
+        users.put(ADMIN_ID, admin);
+        usernames.put(admin.username().toLowerCase(Locale.ROOT), ADMIN_ID);
+        emails.put(admin.email().toLowerCase(Locale.ROOT), ADMIN_ID);
+
+        // Без TCP_NODELAY короткие ответы на keep-alive соединении ждут подтверждения по алгоритму Нейгла.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                Integer.parseInt(config.getProperty("stub.port"))), BACKLOG);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Integer.parseInt(config.getProperty("stub.threads")), runnable -> {
+            Thread thread = new Thread(runnable, "wp-stub-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Запускает заменитель на порту {@code stub.port} (0 — любой свободный) с {@code stub.threads} потоками.
+     *
+     * @param config Конфигурация тестов.
+     * @return Запущенный заменитель.
+     * @throws IOException Если не удалось открыть порт.
+     */
+    public static WordPressStub start(Config config) throws IOException {
+        return new WordPressStub(config);
+    }
+
+    /**
+     * Возвращает адрес, который подставляется в {@code baseURI} вместо адреса настоящего сайта.
+     *
+     * @return Адрес вида {@code http://127.0.0.1:port/index.php}.
+     */
+    public String baseUri() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + "/index.php";
+    }
+
+    /**
+     * Останавливает сервер, не дожидаясь незавершенных обменов.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, Object> params = new HashMap<>();
+            parseForm(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8, params);
+            Object restRoute = params.remove("rest_route");
+            String path = exchange.getRequestURI().getPath();
+            String route = restRoute != null ? restRoute.toString()
+                    : path.startsWith("/wp-json") ? path.substring("/wp-json".length()) : "";
+            // Как rest_api_loaded(): завершающий слеш убирается только у основного запроса,
+            // пути подзапросов /batch/v1 сопоставляются с маршрутами как есть.
+            if (route.length() > 1 && route.endsWith("/")) {
+                route = route.substring(0, route.length() - 1);
+            }
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            boolean authorized = token.equals(authorization);
+            Reply reply;
+            if (authorization != null && !authorized) {
+                reply = error(401, "incorrect_password", "Неверное имя пользователя или пароль.");
+            } else if (!readBody(exchange, params)) {
+                reply = error(400, "rest_invalid_json", "Передано неверное тело JSON.");
+            } else {
+                reply = dispatch(exchange.getRequestMethod(), route, params, authorized);
+            }
+
+            byte[] body = serialize(reply.body());
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            reply.headers().forEach(exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(reply.status(), body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Reply dispatch(String method, String route, Map<String, Object> params, boolean authorized) {
+        try {
+            if ("/batch/v1".equals(route) && "POST".equals(method)) {
+                return batch(params, authorized);
+            }
+            Matcher matcher = ROUTE.matcher(route);
+            if (!matcher.matches()) {
+                return noRoute();
+            }
+            String target = matcher.group(2);
+            switch (matcher.group(1)) {
+                case "users":
+                    return users(method, target, params, authorized);
+                case "posts":
+                    return "me".equals(target) ? noRoute() : posts(method, target, params, authorized);
+                default:
+                    return "me".equals(target) ? noRoute() : tags(method, target, params, authorized);
+            }
+        } catch (NumberFormatException e) {
+            return error(400, "rest_invalid_param", "Неверный параметр: " + e.getMessage());
+        } catch (RuntimeException e) {
+            return error(500, "internal_server_error", e.toString());
+        }
+    }
+
+    /**
+     * Выполняет подзапросы {@code /batch/v1} по очереди и возвращает их ответы с кодом 207.
+     */
+    @SuppressWarnings("unchecked")
+    private Reply batch(Map<String, Object> params, boolean authorized) {
+        if (!(params.get("requests") instanceof List<?> requests) || requests.size() > BATCH_MAX_REQUESTS) {
+            return error(400, "rest_invalid_param", "Неверный параметр: requests");
+        }
+        Reply[] replies = new Reply[requests.size()];
+        for (int i = 0; i < replies.length; i++) {
+            Map<String, Object> request = (Map<String, Object>) requests.get(i);
+            String[] pathAndQuery = request.get("path").toString().split("\\?", 2);
+            Map<String, Object> subParams = new HashMap<>();
+            if (pathAndQuery.length > 1) {
+                parseForm(pathAndQuery[1], StandardCharsets.UTF_8, subParams);
+            }
+            if (request.get("body") instanceof Map<?, ?> body) {
+                subParams.putAll((Map<String, Object>) body);
+            }
+            Object method = request.getOrDefault("method", "POST");
+            replies[i] = dispatch(method.toString().toUpperCase(Locale.ROOT), pathAndQuery[0], subParams, authorized);
+        }
+        return new Reply(207, generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("responses");
+            for (Reply reply : replies) {
+                generator.writeStartObject();
+                generator.writeFieldName("body");
+                reply.body().write(generator);
+                generator.writeNumberField("status", reply.status());
+                generator.writeObjectFieldStart("headers");
+                for (Map.Entry<String, String> header : reply.headers().entrySet()) {
+                    generator.writeStringField(header.getKey(), header.getValue());
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }, Map.of());
+    }
+
+    private Reply users(String method, String target, Map<String, Object> params, boolean authorized) {
+        if (target == null) {
+            switch (method) {
+                case "GET":
+                    String search = lowerCase(params.get("search"));
+                    return collection(users.values(), Comparator.comparing(User::name), user -> search == null
+                            || user.username().toLowerCase(Locale.ROOT).contains(search)
+                            || user.email().toLowerCase(Locale.ROOT).contains(search), params, this::writeUser);
+                case "POST":
+                    return authorized ? createUser(params)
+                            : error(401, "rest_cannot_create_user", "Извините, вам не разрешено создавать новых пользователей.");
+                default:
+                    return noRoute();
+            }
+        }
+        if ("me".equals(target) && !authorized) {
+            return error(401, "rest_not_logged_in", "Вы не авторизованы.");
+        }
+        int id = "me".equals(target) ? ADMIN_ID : Integer.parseInt(target);
+        User user = users.get(id);
+        if (user == null) {
+            return error(404, "rest_user_invalid_id", "Неверный ID пользователя.");
+        }
+        switch (method) {
+            case "GET":
+                boolean edit = authorized && "edit".equals(params.get("context"));
+                return new Reply(200, generator -> writeUser(generator, user, edit), Map.of());
+            case "POST":
+            case "PUT":
+            case "PATCH":
+                return authorized ? updateUser(user, params)
+                        : error(401, "rest_cannot_edit", "Извините, вам не разрешено редактировать этого пользователя.");
+            case "DELETE":
+                if (!authorized) {
+                    return error(401, "rest_user_cannot_delete", "Извините, вам не разрешено удалять этого пользователя.");
+                }
+                if (!isTrue(params.get("force"))) {
+                    return error(501, "rest_trash_not_supported",
+                            "Пользователи не поддерживают перемещение в корзину. Установите «force=true» для удаления.");
+                }
+                if (params.get("reassign") == null) {
+                    return error(400, "rest_missing_callback_param", "Отсутствует параметр: reassign");
+                }
+                // Авторство постов не переназначается: заменитель не связывает посты с пользователями.
+                if (!users.remove(id, user)) {
+                    return error(404, "rest_user_invalid_id", "Неверный ID пользователя.");
+                }
+                usernames.remove(user.username().toLowerCase(Locale.ROOT));
+                emails.remove(user.email().toLowerCase(Locale.ROOT));
+                return deleted(generator -> writeUser(generator, user, true));
+            default:
+                return noRoute();
+        }
+    }
+
+    private Reply createUser(Map<String, Object> params) {
+        for (String required : new String[]{"username", "email", "password"}) {
+            if (params.get(required) == null) {
+                return error(400, "rest_missing_callback_param", "Отсутствует параметр: " + required);
+            }
+        }
+        String username = params.get("username").toString();
+        String email = params.get("email").toString();
+        int id = userIds.incrementAndGet();
+        if (usernames.putIfAbsent(username.toLowerCase(Locale.ROOT), id) != null) {
+            return error(400, "existing_user_login", "Это имя пользователя уже существует.");
+        }
+        if (emails.putIfAbsent(email.toLowerCase(Locale.ROOT), id) != null) {
+            usernames.remove(username.toLowerCase(Locale.ROOT));
+            return error(400, "existing_user_email", "Этот адрес email уже используется.");
+        }
+        User user = new User(id, username, string(params, "name", username), email,
+                string(params, "description", ""), "subscriber", now());
+        users.put(id, user);
+        return new Reply(201, generator -> writeUser(generator, user, true),
+                Map.of("Location", restBase + "/wp/v2/users/" + id));
+    }
+
+    private Reply updateUser(User user, Map<String, Object> params) {
+        String email = string(params, "email", user.email());
+        String oldKey = user.email().toLowerCase(Locale.ROOT);
+        String newKey = email.toLowerCase(Locale.ROOT);
+        if (!newKey.equals(oldKey)) {
+            if (emails.putIfAbsent(newKey, user.id()) != null) {
+                return error(400, "rest_user_invalid_email", "Этот адрес email уже используется.");
+            }
+            emails.remove(oldKey);
+        }
+        User updated = new User(user.id(), user.username(), string(params, "name", user.name()), email,
+                string(params, "description", user.description()), user.role(), user.registered());
+        if (users.replace(user.id(), updated) == null) {
+            return error(404, "rest_user_invalid_id", "Неверный ID пользователя.");
+        }
+        return new Reply(200, generator -> writeUser(generator, updated, true), Map.of());
+    }
+
+    private Reply posts(String method, String target, Map<String, Object> params, boolean authorized) {
+        if (target == null) {
+            switch (method) {
+                case "GET":
+                    Set<String> statuses = authorized ? Set.of(string(params, "status", "publish").split(","))
+                            : Set.of("publish");
+                    String search = lowerCase(params.get("search"));
+                    return collection(posts.values(), Comparator.comparing(Post::date).thenComparing(Post::id).reversed(),
+                            post -> (statuses.contains(post.status())
+                                    || statuses.contains("any") && !"trash".equals(post.status()))
+                                    && (search == null || post.title().toLowerCase(Locale.ROOT).contains(search)
+                                    || post.content().toLowerCase(Locale.ROOT).contains(search)),
+                            params, this::writePost);
+                case "POST":
+                    return authorized ? createPost(params) : error(401, "rest_cannot_create",
+                            "Извините, вам не разрешено создавать записи от лица этого пользователя.");
+                default:
+                    return noRoute();
+            }
+        }
+        int id = Integer.parseInt(target);
+        Post post = posts.get(id);
+        if (post == null) {
+            return error(404, "rest_post_invalid_id", "Неверный ID записи.");
+        }
+        switch (method) {
+            case "GET":
+                if (!authorized && !"publish".equals(post.status())) {
+                    return error(401, "rest_forbidden", "Извините, вам не разрешено выполнять это действие.");
+                }
+                boolean edit = authorized && "edit".equals(params.get("context"));
+                return new Reply(200, generator -> writePost(generator, post, edit), Map.of());
+            case "POST":
+            case "PUT":
+            case "PATCH":
+                if (!authorized) {
+                    return error(401, "rest_cannot_edit", "Извините, вам не разрешено редактировать эту запись.");
+                }
+                String status = string(params, "status", post.status());
+                if (!POST_STATUSES.contains(status) && !status.equals(post.status())) {
+                    return error(400, "rest_invalid_param", "Неверный параметр: status");
+                }
+                return replacePost(post.with(string(params, "title", post.title()),
+                        string(params, "content", post.content()), status));
+            case "DELETE":
+                if (!authorized) {
+                    return error(401, "rest_cannot_delete", "Извините, вам не разрешено удалять эту запись.");
+                }
+                if (isTrue(params.get("force"))) {
+                    if (!posts.remove(id, post)) {
+                        return error(404, "rest_post_invalid_id", "Неверный ID записи.");
+                    }
+                    return deleted(generator -> writePost(generator, post, true));
+                }
+                if ("trash".equals(post.status())) {
+                    return error(410, "rest_already_trashed", "Запись уже перемещена в корзину.");
+                }
+                return replacePost(post.with(post.title(), post.content(), "trash"));
+            default:
+                return noRoute();
+        }
+    }
+
+    private Reply createPost(Map<String, Object> params) {
+        String status = string(params, "status", "draft");
+        if (!POST_STATUSES.contains(status)) {
+            return error(400, "rest_invalid_param", "Неверный параметр: status");
+        }
+        String now = now();
+        Post post = new Post(postIds.incrementAndGet(), string(params, "title", ""), string(params, "content", ""),
+                status, ADMIN_ID, now, now);
+        posts.put(post.id(), post);
+        return new Reply(201, generator -> writePost(generator, post, true),
+                Map.of("Location", restBase + "/wp/v2/posts/" + post.id()));
+    }
+
+    private Reply replacePost(Post updated) {
+        if (posts.replace(updated.id(), updated) == null) {
+            return error(404, "rest_post_invalid_id", "Неверный ID записи.");
+        }
+        return new Reply(200, generator -> writePost(generator, updated, true), Map.of());
+    }
+
+    private Reply tags(String method, String target, Map<String, Object> params, boolean authorized) {
+        if (target == null) {
+            switch (method) {
+                case "GET":
+                    String search = lowerCase(params.get("search"));
+                    return collection(tags.values(), Comparator.comparing(Tag::name), tag -> search == null
+                                    || tag.name().toLowerCase(Locale.ROOT).contains(search),
+                            params, (generator, tag, edit) -> writeTag(generator, tag));
+                case "POST":
+                    return authorized ? createTag(params) : error(401, "rest_cannot_create",
+                            "Извините, вам не разрешено создавать элементы этой таксономии.");
+                default:
+                    return noRoute();
+            }
+        }
+        int id = Integer.parseInt(target);
+        Tag tag = tags.get(id);
+        if (tag == null) {
+            return error(404, "rest_term_invalid", "Элемент не существует.");
+        }
+        switch (method) {
+            case "GET":
+                return new Reply(200, generator -> writeTag(generator, tag), Map.of());
+            case "POST":
+            case "PUT":
+            case "PATCH":
+                return authorized ? updateTag(tag, params)
+                        : error(401, "rest_cannot_update", "Извините, вам не разрешено редактировать этот элемент.");
+            case "DELETE":
+                if (!authorized) {
+                    return error(401, "rest_cannot_delete", "Извините, вам не разрешено удалять этот элемент.");
+                }
+                if (!isTrue(params.get("force"))) {
+                    return error(501, "rest_trash_not_supported",
+                            "Элементы не поддерживают перемещение в корзину. Установите «force=true» для удаления.");
+                }
+                if (!tags.remove(id, tag)) {
+                    return error(404, "rest_term_invalid", "Элемент не существует.");
+                }
+                tagNames.remove(tag.name().toLowerCase(Locale.ROOT));
+                return deleted(generator -> writeTag(generator, tag));
+            default:
+                return noRoute();
+        }
+    }
+
+    private Reply createTag(Map<String, Object> params) {
+        if (params.get("name") == null) {
+            return error(400, "rest_missing_callback_param", "Отсутствует параметр: name");
+        }
+        String name = params.get("name").toString();
+        int id = termIds.incrementAndGet();
+        Integer existing = tagNames.putIfAbsent(name.toLowerCase(Locale.ROOT), id);
+        if (existing != null) {
+            return termExists(existing);
+        }
+        Tag tag = new Tag(id, name, string(params, "slug", slug(name)), string(params, "description", ""));
+        tags.put(id, tag);
+        return new Reply(201, generator -> writeTag(generator, tag),
+                Map.of("Location", restBase + "/wp/v2/tags/" + id));
+    }
+
+    private Reply updateTag(Tag tag, Map<String, Object> params) {
+        String name = string(params, "name", tag.name());
+        String oldKey = tag.name().toLowerCase(Locale.ROOT);
+        String newKey = name.toLowerCase(Locale.ROOT);
+        if (!newKey.equals(oldKey)) {
+            Integer existing = tagNames.putIfAbsent(newKey, tag.id());
+            if (existing != null) {
+                return termExists(existing);
+            }
+            tagNames.remove(oldKey);
+        }
+        Tag updated = new Tag(tag.id(), name, string(params, "slug", tag.slug()),
+                string(params, "description", tag.description()));
+        if (tags.replace(tag.id(), updated) == null) {
+            return error(404, "rest_term_invalid", "Элемент не существует.");
+        }
+        return new Reply(200, generator -> writeTag(generator, updated), Map.of());
+    }
+
+    private static Reply termExists(int termId) {
+        return new Reply(400, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("code", "term_exists");
+            generator.writeStringField("message", "Элемент с указанным именем и ярлыком уже существует в этой таксономии.");
+            generator.writeObjectFieldStart("data");
+            generator.writeNumberField("status", 400);
+            generator.writeNumberField("term_id", termId);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }, Map.of());
+    }
+
+    /**
+     * Возвращает страницу коллекции с заголовками {@code X-WP-Total} и {@code X-WP-TotalPages}.
+     */
+    private static <T> Reply collection(Collection<T> values, Comparator<T> order, Predicate<T> filter,
+                                        Map<String, Object> params, EntityWriter<T> writer) {
+        int perPage = Integer.parseInt(string(params, "per_page", "10"));
+        int page = Integer.parseInt(string(params, "page", "1"));
+        if (perPage < 1 || perPage > 100) {
+            return error(400, "rest_invalid_param", "Неверный параметр: per_page");
+        }
+        List<T> matched = values.stream().filter(filter).sorted(order).toList();
+        int total = matched.size();
+        int totalPages = (total + perPage - 1) / perPage;
+        if (page < 1 || page > Math.max(totalPages, 1)) {
+            return error(400, "rest_post_invalid_page_number",
+                    "Запрошенный номер страницы больше, чем количество доступных страниц.");
+        }
+        List<T> slice = matched.subList(Math.min((page - 1) * perPage, total), Math.min(page * perPage, total));
+        return new Reply(200, generator -> {
+            generator.writeStartArray();
+            for (T value : slice) {
+                writer.write(generator, value, false);
+            }
+            generator.writeEndArray();
+        }, Map.of("X-WP-Total", String.valueOf(total), "X-WP-TotalPages", String.valueOf(totalPages)));
+    }
+
+    private void writeUser(JsonGenerator generator, User user, boolean edit) throws IOException {
+        boolean admin = "administrator".equals(user.role());
+        generator.writeStartObject();
+        generator.writeNumberField("id", user.id());
+        if (edit) {
+            generator.writeStringField("username", user.username());
+        }
+        generator.writeStringField("name", user.name());
+        if (edit) {
+            generator.writeStringField("first_name", "");
+            generator.writeStringField("last_name", "");
+            generator.writeStringField("email", user.email());
+        }
+        generator.writeStringField("url", "");
+        generator.writeStringField("description", user.description());
+        generator.writeStringField("link", site + "?author=" + user.id());
+        if (edit) {
+            generator.writeStringField("locale", "ru_RU");
+            generator.writeStringField("nickname", user.username());
+        }
+        generator.writeStringField("slug", slug(user.username()));
+        if (edit) {
+            generator.writeArrayFieldStart("roles");
+            generator.writeString(user.role());
+            generator.writeEndArray();
+            generator.writeStringField("registered_date", user.registered() + "+00:00");
+            generator.writeObjectFieldStart("capabilities");
+            if (admin) {
+                for (String capability : new String[]{"switch_themes", "edit_users", "create_users", "delete_users",
+                        "manage_options", "edit_posts", "publish_posts", "manage_categories", "level_10"}) {
+                    generator.writeBooleanField(capability, true);
+                }
+            }
+            generator.writeBooleanField("read", true);
+            generator.writeBooleanField("level_0", true);
+            generator.writeBooleanField(user.role(), true);
+            generator.writeEndObject();
+            generator.writeObjectFieldStart("extra_capabilities");
+            generator.writeBooleanField(user.role(), true);
+            generator.writeEndObject();
+        }
+        generator.writeObjectFieldStart("avatar_urls");
+        for (int size : new int[]{24, 48, 96}) {
+            generator.writeStringField(String.valueOf(size), String.format(GRAVATAR, size));
+        }
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("meta");
+        generator.writeObjectFieldStart("persisted_preferences");
+        generator.writeEndObject();
+        generator.writeEndObject();
+        writeLinks(generator, "users", user.id(), null);
+        generator.writeEndObject();
+    }
+
+    private void writePost(JsonGenerator generator, Post post, boolean edit) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", post.id());
+        generator.writeStringField("date", post.date());
+        generator.writeStringField("date_gmt", post.date());
+        writeRendered(generator, "guid", site + "?p=" + post.id(), edit ? site + "?p=" + post.id() : null);
+        generator.writeStringField("modified", post.modified());
+        generator.writeStringField("modified_gmt", post.modified());
+        if (edit) {
+            generator.writeStringField("password", "");
+        }
+        generator.writeStringField("slug", "publish".equals(post.status()) ? slug(post.title()) : "");
+        generator.writeStringField("status", post.status());
+        generator.writeStringField("type", "post");
+        generator.writeStringField("link", site + "?p=" + post.id());
+        writeRendered(generator, "title", post.title(), edit ? post.title() : null);
+        generator.writeObjectFieldStart("content");
+        if (edit) {
+            generator.writeStringField("raw", post.content());
+        }
+        generator.writeStringField("rendered", renderContent(post.content()));
+        generator.writeBooleanField("protected", false);
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("excerpt");
+        generator.writeStringField("rendered", "");
+        generator.writeBooleanField("protected", false);
+        generator.writeEndObject();
+        generator.writeNumberField("author", post.author());
+        generator.writeNumberField("featured_media", 0);
+        generator.writeStringField("comment_status", "open");
+        generator.writeStringField("ping_status", "open");
+        generator.writeBooleanField("sticky", false);
+        generator.writeStringField("template", "");
+        generator.writeStringField("format", "standard");
+        generator.writeObjectFieldStart("meta");
+        generator.writeStringField("footnotes", "");
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("categories");
+        generator.writeNumber(1);
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("tags");
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("class_list");
+        for (String cssClass : new String[]{"post-" + post.id(), "post", "type-post", "status-" + post.status(),
+                "format-standard", "hentry", "category-uncategorized"}) {
+            generator.writeString(cssClass);
+        }
+        generator.writeEndArray();
+        writeLinks(generator, "posts", post.id(), null);
+        generator.writeEndObject();
+    }
+
+    private void writeTag(JsonGenerator generator, Tag tag) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", tag.id());
+        generator.writeNumberField("count", 0);
+        generator.writeStringField("description", tag.description());
+        generator.writeStringField("link", site + "?tag=" + tag.slug());
+        generator.writeStringField("name", tag.name());
+        generator.writeStringField("slug", tag.slug());
+        generator.writeStringField("taxonomy", "post_tag");
+        generator.writeArrayFieldStart("meta");
+        generator.writeEndArray();
+        writeLinks(generator, "tags", tag.id(), tag);
+        generator.writeEndObject();
+    }
+
+    private void writeLinks(JsonGenerator generator, String collection, int id, Tag tag) throws IOException {
+        generator.writeObjectFieldStart("_links");
+        writeLink(generator, "self", restBase + "/wp/v2/" + collection + "/" + id);
+        writeLink(generator, "collection", restBase + "/wp/v2/" + collection);
+        if (tag != null) {
+            writeLink(generator, "about", restBase + "/wp/v2/taxonomies/post_tag");
+            writeLink(generator, "wp:post_type", site + "index.php?rest_route=%2Fwp%2Fv2%2Fposts&tags=" + tag.id());
+            generator.writeArrayFieldStart("curies");
+            generator.writeStartObject();
+            generator.writeStringField("name", "wp");
+            generator.writeStringField("href", "https://api.w.org/{rel}");
+            generator.writeBooleanField("templated", true);
+            generator.writeEndObject();
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeLink(JsonGenerator generator, String relation, String href) throws IOException {
+        generator.writeArrayFieldStart(relation);
+        generator.writeStartObject();
+        generator.writeStringField("href", href);
+        generator.writeEndObject();
+        generator.writeEndArray();
+    }
+
+    private static void writeRendered(JsonGenerator generator, String field, String rendered, String raw)
+            throws IOException {
+        generator.writeObjectFieldStart(field);
+        if (raw != null) {
+            generator.writeStringField("raw", raw);
+        }
+        generator.writeStringField("rendered", rendered);
+        generator.writeEndObject();
+    }
+
+    private static Reply deleted(Body previous) {
+        return new Reply(200, generator -> {
+            generator.writeStartObject();
+            generator.writeBooleanField("deleted", true);
+            generator.writeFieldName("previous");
+            previous.write(generator);
+            generator.writeEndObject();
+        }, Map.of());
+    }
+
+    private static Reply noRoute() {
+        return error(404, "rest_no_route", "Подходящий маршрут для URL и метода запроса не найден.");
+    }
+
+    private static Reply error(int status, String code, String message) {
+        return new Reply(status, generator -> {
+            generator.writeStartObject();
+            generator.writeStringField("code", code);
+            generator.writeStringField("message", message);
+            generator.writeObjectFieldStart("data");
+            generator.writeNumberField("status", status);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }, Map.of());
+    }
+
+    private static byte[] serialize(Body body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        try (JsonGenerator generator = JsonTree.JSON.createGenerator(buffer)) {
+            body.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Добавляет параметры тела запроса: JSON-объект или форму {@code application/x-www-form-urlencoded}.
+     *
+     * @return {@code false}, если тело объявлено как JSON, но не разбирается.
+     */
+    @SuppressWarnings("unchecked")
+    private static boolean readBody(HttpExchange exchange, Map<String, Object> params) throws IOException {
+        byte[] body;
+        try (InputStream input = exchange.getRequestBody()) {
+            body = input.readAllBytes();
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (body.length == 0 || contentType == null) {
+            return true;
+        }
+        if (contentType.contains("json")) {
+            try {
+                if (JsonTree.parse(body) instanceof Map<?, ?> json) {
+                    params.putAll((Map<String, Object>) json);
+                }
+            } catch (IOException e) {
+                return false;
+            }
+        } else if (contentType.contains("x-www-form-urlencoded")) {
+            Charset charset = StandardCharsets.UTF_8;
+            int charsetStart = contentType.indexOf("charset=");
+            if (charsetStart >= 0) {
+                charset = Charset.forName(contentType.substring(charsetStart + "charset=".length()).split(";")[0].trim());
+            }
+            parseForm(new String(body, StandardCharsets.ISO_8859_1), charset, params);
+        }
+        return true;
+    }
+
+    private static void parseForm(String form, Charset charset, Map<String, Object> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(name, charset), URLDecoder.decode(value, charset));
+        }
+    }
+
+    private static String adminUsername(String token) {
+        if (token == null || !token.startsWith("Basic ")) {
+            return "admin";
+        }
+        String credentials = new String(Base64.getDecoder().decode(token.substring("Basic ".length()).trim()),
+                StandardCharsets.UTF_8);
+        int separator = credentials.indexOf(':');
+        return separator < 0 ? credentials : credentials.substring(0, separator);
+    }
+
+    /**
+     * Строит ярлык как {@code sanitize_title}: нижний регистр, точки и пробелы заменяются дефисом.
+     */
+    private static String slug(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[\\s.]+", "-").replaceAll("[^\\p{L}\\p{N}_-]", "");
+    }
+
+    /**
+     * Выводит содержимое как {@code the_content}: из разметки блоков вырезаются разделители,
+     * текст без разметки оборачивается в абзац.
+     */
+    private static String renderContent(String content) {
+        if (content.isEmpty()) {
+            return "";
+        }
+        return ContentCorpus.isBlockMarkup(content) ? ContentCorpus.stripBlockDelimiters(content)
+                : "<p>" + content + "</p>\n";
+    }
+
+    private static String string(Map<String, Object> params, String name, String defaultValue) {
+        Object value = params.get(name);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    private static String lowerCase(Object value) {
+        return value == null ? null : value.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isTrue(Object value) {
+        return value != null && ("true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString()));
+    }
+
+    private static String now() {
+        return LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).format(DATE);
+    }
+
+    /**
+     * Тело ответа, записываемое в генератор: так подзапросы пакета пишутся прямо в общий ответ.
+     */
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface EntityWriter<T> {
+        void write(JsonGenerator generator, T value, boolean edit) throws IOException;
+    }
+
+    private record Reply(int status, Body body, Map<String, String> headers) {
+    }
+
+    private record User(int id, String username, String name, String email, String description, String role,
+                        String registered) {
+    }
+
+    private record Post(int id, String title, String content, String status, int author, String date,
+                        String modified) {
+        Post with(String newTitle, String newContent, String newStatus) {
+            return new Post(id, newTitle, newContent, newStatus, author, date, now());
+        }
+    }
+
+    private record Tag(int id, String name, String slug, String description) {
+    }
+}
@@ -0,0 +1,53 @@
+package utils;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Расширение JUnit, которое при {@code stub.enabled=true} один раз за прогон запускает {@link WordPressStub}
+ * и подменяет {@code baseURI} его адресом через системное свойство, поэтому {@link ApiSpecs}
+ * и все клиенты обращаются к заменителю вместо настоящего сайта.
+ * <p>
+ * Должно стоять в {@code @ExtendWith} первым после {@link RunReportExtension}: ресурсы корневого хранилища
+ * закрываются в обратном порядке, и заменитель останавливается после того, как остальные расширения
+ * завершили работу.
+ * </p>
+ */
+public class WordPressStubExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WordPressStubExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Config config = new Config();
+        if (!Boolean.parseBoolean(config.getProperty("stub.enabled"))) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(RunningStub.class, key -> new RunningStub(config), RunningStub.class);
+    }
+
+    /**
+     * Заменитель на время прогона: останавливается при закрытии корневого контекста JUnit.
+     */
+    private static final class RunningStub implements ExtensionContext.Store.CloseableResource {
+        private final WordPressStub stub;
+
+        private RunningStub(Config config) {
+            try {
+                stub = WordPressStub.start(config);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось запустить заменитель WordPress", e);
+            }
+            System.setProperty("baseURI", stub.baseUri());
+            RunReport.attach("Заменитель WordPress", "Запущен по адресу " + stub.baseUri());
+        }
+
+        @Override
+        public void close() {
+            stub.close();
+        }
+    }
+}
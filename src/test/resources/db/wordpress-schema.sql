@@ -0,0 +1,75 @@
+-- Схема таблиц WordPress для встроенной базы H2 в режиме совместимости с MySQL (профиль embedded-db).
+-- Выполняется при открытии каждого соединения, поэтому все выражения идемпотентны.
+CREATE TABLE IF NOT EXISTS wp_users (
+    ID                  BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_login          VARCHAR(60)  NOT NULL DEFAULT '',
+    user_pass           VARCHAR(255) NOT NULL DEFAULT '',
+    user_nicename       VARCHAR(50)  NOT NULL DEFAULT '',
+    user_email          VARCHAR(100) NOT NULL DEFAULT '',
+    user_url            VARCHAR(100) NOT NULL DEFAULT '',
+    user_registered     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    user_activation_key VARCHAR(255) NOT NULL DEFAULT '',
+    user_status         INT          NOT NULL DEFAULT 0,
+    display_name        VARCHAR(250) NOT NULL DEFAULT ''
+);
+CREATE INDEX IF NOT EXISTS user_login_key ON wp_users (user_login);
+CREATE INDEX IF NOT EXISTS user_nicename ON wp_users (user_nicename);
+CREATE INDEX IF NOT EXISTS user_email ON wp_users (user_email);
+
+CREATE TABLE IF NOT EXISTS wp_posts (
+    ID                    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    post_author           BIGINT       NOT NULL DEFAULT 0,
+    post_date             DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    post_date_gmt         DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    post_content          LONGTEXT     NOT NULL,
+    post_title            TEXT         NOT NULL,
+    post_excerpt          TEXT         NOT NULL,
+    post_status           VARCHAR(20)  NOT NULL DEFAULT 'publish',
+    comment_status        VARCHAR(20)  NOT NULL DEFAULT 'open',
+    ping_status           VARCHAR(20)  NOT NULL DEFAULT 'open',
+    post_password         VARCHAR(255) NOT NULL DEFAULT '',
+    post_name             VARCHAR(200) NOT NULL DEFAULT '',
+    to_ping               TEXT         NOT NULL,
+    pinged                TEXT         NOT NULL,
+    post_modified         DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    post_modified_gmt     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    post_content_filtered LONGTEXT     NOT NULL,
+    post_parent           BIGINT       NOT NULL DEFAULT 0,
+    guid                  VARCHAR(255) NOT NULL DEFAULT '',
+    menu_order            INT          NOT NULL DEFAULT 0,
+    post_type             VARCHAR(20)  NOT NULL DEFAULT 'post',
+    post_mime_type        VARCHAR(100) NOT NULL DEFAULT '',
+    comment_count         BIGINT       NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS post_name ON wp_posts (post_name);
+CREATE INDEX IF NOT EXISTS type_status_date ON wp_posts (post_type, post_status, post_date, ID);
+CREATE INDEX IF NOT EXISTS post_parent ON wp_posts (post_parent);
+CREATE INDEX IF NOT EXISTS post_author ON wp_posts (post_author);
+
+CREATE TABLE IF NOT EXISTS wp_terms (
+    term_id    BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name       VARCHAR(200) NOT NULL DEFAULT '',
+    slug       VARCHAR(200) NOT NULL DEFAULT '',
+    term_group BIGINT       NOT NULL DEFAULT 0
+);
+CREATE INDEX IF NOT EXISTS slug ON wp_terms (slug);
+CREATE INDEX IF NOT EXISTS name ON wp_terms (name);
+
+CREATE TABLE IF NOT EXISTS wp_term_taxonomy (
+    term_taxonomy_id BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    term_id          BIGINT      NOT NULL DEFAULT 0,
+    taxonomy         VARCHAR(32) NOT NULL DEFAULT '',
+    description      LONGTEXT    NOT NULL,
+    parent           BIGINT      NOT NULL DEFAULT 0,
+    count            BIGINT      NOT NULL DEFAULT 0
+);
+CREATE UNIQUE INDEX IF NOT EXISTS term_id_taxonomy ON wp_term_taxonomy (term_id, taxonomy);
+CREATE INDEX IF NOT EXISTS taxonomy ON wp_term_taxonomy (taxonomy);
+
+CREATE TABLE IF NOT EXISTS wp_term_relationships (
+    object_id        BIGINT NOT NULL DEFAULT 0,
+    term_taxonomy_id BIGINT NOT NULL DEFAULT 0,
+    term_order       INT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (object_id, term_taxonomy_id)
+);
+CREATE INDEX IF NOT EXISTS term_taxonomy_id ON wp_term_relationships (term_taxonomy_id);